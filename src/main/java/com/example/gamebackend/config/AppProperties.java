@@ -12,6 +12,8 @@ public class AppProperties {
     
     private Frontend frontend = new Frontend();
     private Session session = new Session();
+    private Multiplayer multiplayer = new Multiplayer();
+    private Cluster cluster = new Cluster();
     
     public Frontend getFrontend() {
         return frontend;
@@ -28,6 +30,22 @@ public class AppProperties {
     public void setSession(Session session) {
         this.session = session;
     }
+
+    public Multiplayer getMultiplayer() {
+        return multiplayer;
+    }
+
+    public void setMultiplayer(Multiplayer multiplayer) {
+        this.multiplayer = multiplayer;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public void setCluster(Cluster cluster) {
+        this.cluster = cluster;
+    }
     
     public static class Frontend {
         private String url = "https://frotendproject.vercel.app/";
@@ -71,4 +89,199 @@ public class AppProperties {
             this.cleanupIntervalMs = cleanupIntervalMs;
         }
     }
+
+    public static class Multiplayer {
+        private int maxRoomsPerHost = 1;
+        private int maxActiveRooms = 50_000;
+        private long questionTimeoutMs = 30_000L;
+        private long awaitTimeoutMs = 25_000L;
+        private int snapshotIntervalEvents = 50;
+        private boolean loadTestEnabled = false;
+        private int maxRoomCapacity = 500;
+        private Archive archive = new Archive();
+        private Matchmaking matchmaking = new Matchmaking();
+
+        public int getMaxRoomsPerHost() {
+            return maxRoomsPerHost;
+        }
+
+        public void setMaxRoomsPerHost(int maxRoomsPerHost) {
+            this.maxRoomsPerHost = maxRoomsPerHost;
+        }
+
+        public int getMaxActiveRooms() {
+            return maxActiveRooms;
+        }
+
+        public void setMaxActiveRooms(int maxActiveRooms) {
+            this.maxActiveRooms = maxActiveRooms;
+        }
+
+        public long getQuestionTimeoutMs() {
+            return questionTimeoutMs;
+        }
+
+        public void setQuestionTimeoutMs(long questionTimeoutMs) {
+            this.questionTimeoutMs = questionTimeoutMs;
+        }
+
+        public long getAwaitTimeoutMs() {
+            return awaitTimeoutMs;
+        }
+
+        public void setAwaitTimeoutMs(long awaitTimeoutMs) {
+            this.awaitTimeoutMs = awaitTimeoutMs;
+        }
+
+        public int getSnapshotIntervalEvents() {
+            return snapshotIntervalEvents;
+        }
+
+        public void setSnapshotIntervalEvents(int snapshotIntervalEvents) {
+            this.snapshotIntervalEvents = snapshotIntervalEvents;
+        }
+
+        public boolean isLoadTestEnabled() {
+            return loadTestEnabled;
+        }
+
+        public void setLoadTestEnabled(boolean loadTestEnabled) {
+            this.loadTestEnabled = loadTestEnabled;
+        }
+
+        public int getMaxRoomCapacity() {
+            return maxRoomCapacity;
+        }
+
+        public void setMaxRoomCapacity(int maxRoomCapacity) {
+            this.maxRoomCapacity = maxRoomCapacity;
+        }
+
+        public Archive getArchive() {
+            return archive;
+        }
+
+        public void setArchive(Archive archive) {
+            this.archive = archive;
+        }
+
+        public Matchmaking getMatchmaking() {
+            return matchmaking;
+        }
+
+        public void setMatchmaking(Matchmaking matchmaking) {
+            this.matchmaking = matchmaking;
+        }
+    }
+
+    public static class Matchmaking {
+        private long tickMs = 500L;
+        private long botFillAfterMs = 10_000L;
+
+        public long getTickMs() {
+            return tickMs;
+        }
+
+        public void setTickMs(long tickMs) {
+            this.tickMs = tickMs;
+        }
+
+        public long getBotFillAfterMs() {
+            return botFillAfterMs;
+        }
+
+        public void setBotFillAfterMs(long botFillAfterMs) {
+            this.botFillAfterMs = botFillAfterMs;
+        }
+    }
+
+    public static class Archive {
+        private long intervalMs = 60_000L;
+        private long finishedGraceMs = 600_000L;
+        private long waitingGraceMs = 1_800_000L;
+        private String directory = "match-history";
+        private long segmentMaxBytes = 64L * 1024 * 1024;
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public long getFinishedGraceMs() {
+            return finishedGraceMs;
+        }
+
+        public void setFinishedGraceMs(long finishedGraceMs) {
+            this.finishedGraceMs = finishedGraceMs;
+        }
+
+        public long getWaitingGraceMs() {
+            return waitingGraceMs;
+        }
+
+        public void setWaitingGraceMs(long waitingGraceMs) {
+            this.waitingGraceMs = waitingGraceMs;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getSegmentMaxBytes() {
+            return segmentMaxBytes;
+        }
+
+        public void setSegmentMaxBytes(long segmentMaxBytes) {
+            this.segmentMaxBytes = segmentMaxBytes;
+        }
+    }
+
+    public static class Cluster {
+        private String nodeId = "local";
+        private List<String> nodes = new ArrayList<>();
+        private int virtualNodes = 160;
+        private long handoffCheckMs = 5_000L;
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes == null ? new ArrayList<>() : nodes.stream()
+                .filter(node -> node != null && !node.isBlank())
+                .map(String::trim)
+                .toList();
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public long getHandoffCheckMs() {
+            return handoffCheckMs;
+        }
+
+        public void setHandoffCheckMs(long handoffCheckMs) {
+            this.handoffCheckMs = handoffCheckMs;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.example.gamebackend.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Binary wire format: clients sending {@code Accept: application/cbor} receive the same payloads
+ * encoded as CBOR, and may send request bodies as CBOR too. Spring MVC already registers a CBOR
+ * converter (after the JSON one) when jackson-dataformat-cbor is present, but built without Boot's
+ * Jackson settings; it is replaced in place so JSON stays the format for clients that do not ask
+ * for CBOR, and the bytes match the ones {@code RoomSnapshotCache} encodes.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public WebMvcConfigurer cborConfigurer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        // Same modules and settings as the JSON mapper, only the encoding differs
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build());
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                for (int i = 0; i < converters.size(); i++) {
+                    if (converters.get(i) instanceof MappingJackson2CborHttpMessageConverter) {
+                        converters.set(i, converter);
+                        return;
+                    }
+                }
+                converters.add(converter);
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.gamebackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.gamebackend.service.ClusterMembership;
+import com.example.gamebackend.service.StaticClusterMembership;
+
+/**
+ * Cluster membership used for room ownership. The static list from app.cluster.* is the default;
+ * declaring another {@link ClusterMembership} bean (e.g. backed by service discovery) replaces it.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ClusterMembership.class)
+    public ClusterMembership clusterMembership(AppProperties appProperties) {
+        return StaticClusterMembership.of(appProperties.getCluster());
+    }
+}
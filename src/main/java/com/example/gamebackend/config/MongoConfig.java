@@ -1,8 +1,67 @@
 package com.example.gamebackend.config;
 
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import com.example.gamebackend.model.MultiplayerPlayer;
 
 @Configuration
 public class MongoConfig {
-	// Reserved for future Mongo customizations (e.g., converters, templates).
+
+	@Bean
+	public MongoCustomConversions mongoCustomConversions() {
+		return new MongoCustomConversions(List.of(new PlayerWritingConverter(), new PlayerReadingConverter()));
+	}
+
+	/**
+	 * Players keep no counter fields while seated (they live in the room's stats table), so the
+	 * stored form is written from the getters; the document layout is the one field mapping produced.
+	 */
+	@WritingConverter
+	static class PlayerWritingConverter implements Converter<MultiplayerPlayer, Document> {
+
+		@Override
+		public Document convert(MultiplayerPlayer player) {
+			Document document = new Document("_id", player.getId())
+					.append("username", player.getUsername())
+					.append("score", player.getScore())
+					.append("answeredCount", player.getAnsweredCount())
+					.append("totalResponseTime", player.getTotalResponseTime())
+					.append("isBot", player.isBot())
+					.append("isReady", player.isReady());
+			if (player.getBotSkill() != null) {
+				document.append("botSkill", player.getBotSkill().name());
+			}
+			return document;
+		}
+	}
+
+	@ReadingConverter
+	static class PlayerReadingConverter implements Converter<Document, MultiplayerPlayer> {
+
+		@Override
+		public MultiplayerPlayer convert(Document document) {
+			MultiplayerPlayer player = new MultiplayerPlayer(
+					document.getString("_id"),
+					document.getString("username"),
+					document.getBoolean("isBot", false));
+			player.setReady(document.getBoolean("isReady", false));
+			player.setScore(document.getInteger("score", 0));
+			player.setAnsweredCount(document.getInteger("answeredCount", 0));
+			Number totalResponseTime = document.get("totalResponseTime", Number.class);
+			player.setTotalResponseTime(totalResponseTime == null ? 0L : totalResponseTime.longValue());
+			String botSkill = document.getString("botSkill");
+			if (botSkill != null) {
+				player.setBotSkill(MultiplayerPlayer.BotSkill.valueOf(botSkill));
+			}
+			return player;
+		}
+	}
 }
@@ -0,0 +1,30 @@
+package com.example.gamebackend.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.example.gamebackend.controller.MultiplayerRoomSocketHandler;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final MultiplayerRoomSocketHandler roomSocketHandler;
+    private final AppProperties appProperties;
+
+    public WebSocketConfig(MultiplayerRoomSocketHandler roomSocketHandler, AppProperties appProperties) {
+        this.roomSocketHandler = roomSocketHandler;
+        this.appProperties = appProperties;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        List<String> origins = appProperties.getFrontend().getAllowedOrigins();
+        registry.addHandler(roomSocketHandler, MultiplayerRoomSocketHandler.PATH_PREFIX + "*")
+            .setAllowedOrigins(origins.toArray(new String[0]));
+    }
+}
@@ -1,26 +1,47 @@
 package com.example.gamebackend.controller;
 
+import java.time.ZoneOffset;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.example.gamebackend.dto.CreateRoomRequest;
 import com.example.gamebackend.dto.JoinRoomRequest;
+import com.example.gamebackend.dto.MatchmakingRequest;
+import com.example.gamebackend.dto.RoomDeltaDTO;
 import com.example.gamebackend.dto.SubmitAnswerRequest;
+import com.example.gamebackend.model.MatchSummary;
 import com.example.gamebackend.model.MultiplayerPlayer;
 import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.service.BotLoadGenerator;
+import com.example.gamebackend.service.MatchmakingService;
 import com.example.gamebackend.service.MultiplayerRoomService;
+import com.example.gamebackend.service.MultiplayerRoomStreamService;
+import com.example.gamebackend.service.RoomChangeWaiters;
+import com.example.gamebackend.service.RoomOwnedElsewhereException;
+import com.example.gamebackend.service.RoomSnapshotCache;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -31,9 +52,24 @@ import jakarta.validation.Valid;
 public class MultiplayerController {
 
     private final MultiplayerRoomService roomService;
+    private final MultiplayerRoomStreamService roomStreamService;
+    private final BotLoadGenerator botLoadGenerator;
+    private final MatchmakingService matchmakingService;
+    private final RoomSnapshotCache snapshotCache;
+    private final RoomChangeWaiters roomChangeWaiters;
 
-    public MultiplayerController(MultiplayerRoomService roomService) {
+    public MultiplayerController(MultiplayerRoomService roomService,
+                                 MultiplayerRoomStreamService roomStreamService,
+                                 BotLoadGenerator botLoadGenerator,
+                                 MatchmakingService matchmakingService,
+                                 RoomSnapshotCache snapshotCache,
+                                 RoomChangeWaiters roomChangeWaiters) {
         this.roomService = roomService;
+        this.roomStreamService = roomStreamService;
+        this.botLoadGenerator = botLoadGenerator;
+        this.matchmakingService = matchmakingService;
+        this.snapshotCache = snapshotCache;
+        this.roomChangeWaiters = roomChangeWaiters;
     }
 
     /**
@@ -41,7 +77,15 @@ public class MultiplayerController {
      */
     @PostMapping("/rooms/create")
     public ResponseEntity<Map<String, Object>> createRoom(@Valid @RequestBody CreateRoomRequest request) {
-        MultiplayerRoom room = roomService.createRoom(request.getPlayerId(), request.getUsername());
+        MultiplayerRoom room = roomService.createRoom(
+            request.getPlayerId(),
+            request.getUsername(),
+            request.resolveDifficulty(),
+            request.resolveOperations(),
+            request.resolveBots(),
+            request.resolveBotSkill(),
+            request.resolveCapacity()
+        );
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -92,6 +136,7 @@ public class MultiplayerController {
 
     /**
      * Submits an answer for the active question.
+     * When the request carries knownVersion only the changes since that version are returned.
      */
     @PostMapping("/rooms/answer")
     public ResponseEntity<Map<String, Object>> submitAnswer(@Valid @RequestBody SubmitAnswerRequest request) {
@@ -99,9 +144,15 @@ public class MultiplayerController {
             request.getRoomCode(),
             request.getPlayerId(),
             request.getAnswer(),
-            request.getResponseTime()
+            request.getResponseTime(),
+            request.getRequestId(),
+            request.getQuestionIndex()
         );
         
+        if (request.getKnownVersion() != null) {
+            return ResponseEntity.ok(deltaResponse(room, request.getKnownVersion()));
+        }
+        
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("room", room);
@@ -109,7 +160,7 @@ public class MultiplayerController {
         response.put("isFinished", room.isFinished());
         
         if (room.isFinished()) {
-            List<MultiplayerPlayer> ranking = roomService.getRanking(request.getRoomCode());
+            List<MultiplayerPlayer> ranking = roomService.getRanking(room);
             response.put("ranking", ranking);
         }
         
@@ -117,39 +168,105 @@ public class MultiplayerController {
     }
 
     /**
-     * Returns the current state for a room.
+     * Returns the current state for a room, or a delta when sinceVersion is provided.
+     * Full reads carry the room version as ETag and answer 304 to a matching If-None-Match.
      */
     @GetMapping("/rooms/{roomCode}")
-    public ResponseEntity<Map<String, Object>> getRoom(@PathVariable String roomCode) {
+    public ResponseEntity<?> getRoom(
+            @PathVariable String roomCode,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         MultiplayerRoom room = roomService.getRoom(roomCode);
         
         if (room == null) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "Room not found");
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            return roomNotFound();
         }
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("room", room);
-        response.put("currentQuestion", room.getCurrentQuestion());
+        if (sinceVersion != null) {
+            return ResponseEntity.ok(deltaResponse(room, sinceVersion));
+        }
         
-        return ResponseEntity.ok(response);
+        return snapshotResponse(room, accept, ifNoneMatch);
+    }
+
+    /**
+     * Read-only view of a room for spectators: same payload as the room snapshot, no player needed.
+     */
+    @GetMapping("/rooms/{roomCode}/spectate")
+    public ResponseEntity<?> spectateRoom(
+            @PathVariable String roomCode,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        MultiplayerRoom room = roomService.getRoom(roomCode);
+        if (room == null) {
+            return roomNotFound();
+        }
+        return snapshotResponse(room, accept, ifNoneMatch);
     }
 
     /**
-     * Fetches the ranking for a room.
+     * Long poll: parks until the room version moves past sinceVersion and then returns the room
+     * snapshot, or answers 304 once app.multiplayer.await-timeout-ms elapses without a change.
+     */
+    @GetMapping("/rooms/{roomCode}/await")
+    public DeferredResult<ResponseEntity<?>> awaitRoom(
+            @PathVariable String roomCode,
+            @RequestParam long sinceVersion,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MultiplayerRoom room = roomService.getRoom(roomCode);
+        if (room == null) {
+            DeferredResult<ResponseEntity<?>> missing = new DeferredResult<>();
+            missing.setResult(roomNotFound());
+            return missing;
+        }
+        String unchangedTag = roomTag(room, sinceVersion, prefersCbor(accept));
+        return roomChangeWaiters.await(room, sinceVersion,
+                changed -> snapshotResponse(changed, accept, null),
+                () -> notModified(unchangedTag));
+    }
+
+    /**
+     * Streams room changes as Server-Sent Events (one typed event per state version).
+     */
+    @GetMapping(path = "/rooms/{roomCode}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRoom(@PathVariable String roomCode) {
+        SseEmitter emitter = roomStreamService.subscribe(roomCode);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    /**
+     * Fetches the ranking for a room. Answers 304 while the room version matches the client's ETag.
      */
     @GetMapping("/rooms/{roomCode}/ranking")
-    public ResponseEntity<Map<String, Object>> getRanking(@PathVariable String roomCode) {
-        List<MultiplayerPlayer> ranking = roomService.getRanking(roomCode);
+    public ResponseEntity<Map<String, Object>> getRanking(
+            @PathVariable String roomCode,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        MultiplayerRoom room = roomService.getRoom(roomCode);
+        if (room == null) {
+            throw new IllegalArgumentException("Room not found");
+        }
+        // Read before the ranking: the tag may lag the body, never lead it
+        String etag = roomTag(room, room.getVersion(), prefersCbor(accept));
+        if (matchesTag(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        List<MultiplayerPlayer> ranking = roomService.getRanking(room);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("ranking", ranking);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response);
     }
 
     /**
@@ -170,23 +287,238 @@ public class MultiplayerController {
     }
 
     /**
-     * Lists every active room (debug helper).
+     * Lists rooms page by page (newest first), optionally filtered by status.
      */
     @GetMapping("/rooms")
-    public ResponseEntity<Map<String, Object>> getAllRooms() {
-        List<MultiplayerRoom> rooms = roomService.getAllRooms();
+    public ResponseEntity<Map<String, Object>> listRooms(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        EnumSet<MultiplayerRoom.RoomStatus> statuses = EnumSet.noneOf(MultiplayerRoom.RoomStatus.class);
+        if (status != null) {
+            for (String value : status) {
+                try {
+                    statuses.add(MultiplayerRoom.RoomStatus.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Status must be WAITING, PLAYING or FINISHED");
+                }
+            }
+        }
+        MultiplayerRoomService.RoomPage page = roomService.listRooms(statuses, cursor, limit);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("rooms", rooms);
-        response.put("count", rooms.size());
+        response.put("rooms", page.rooms());
+        response.put("count", page.rooms().size());
+        response.put("nextCursor", page.nextCursor());
         
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Manejo de excepciones
+     * Lists the archived matches of a player (summaries only).
      */
+    @GetMapping("/history/{playerId}")
+    public ResponseEntity<Map<String, Object>> getMatchHistory(@PathVariable String playerId) {
+        List<MatchSummary> matches = roomService.getMatchHistory(playerId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("matches", matches);
+        response.put("count", matches.size());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns one archived match: the summary plus the room as it was archived.
+     */
+    @GetMapping("/history/matches/{matchId}")
+    public ResponseEntity<Map<String, Object>> getArchivedMatch(@PathVariable String matchId) {
+        MultiplayerRoomService.ArchivedMatch match = roomService.getArchivedMatch(matchId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("match", match.summary());
+        response.put("room", match.room());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Enters the quick-match queue; poll the ticket until it reports the room code.
+     */
+    @PostMapping("/matchmaking/enqueue")
+    public ResponseEntity<Map<String, Object>> enqueue(@Valid @RequestBody MatchmakingRequest request) {
+        return ticketResponse(matchmakingService.enqueue(
+            request.getPlayerId(),
+            request.getUsername(),
+            request.resolveDifficulty(),
+            request.resolveOperations()
+        ));
+    }
+
+    @GetMapping("/matchmaking/{playerId}")
+    public ResponseEntity<Map<String, Object>> getTicket(@PathVariable String playerId) {
+        return ticketResponse(matchmakingService.getStatus(playerId));
+    }
+
+    @PostMapping("/matchmaking/{playerId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelTicket(@PathVariable String playerId) {
+        return ticketResponse(matchmakingService.cancel(playerId));
+    }
+
+    private ResponseEntity<Map<String, Object>> ticketResponse(MatchmakingService.TicketStatus ticket) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("ticket", ticket);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Starts a bot-only load run (requires app.multiplayer.load-test-enabled).
+     */
+    @PostMapping("/load-test/start")
+    public ResponseEntity<Map<String, Object>> startLoadTest(
+            @RequestParam(defaultValue = "100") int rooms,
+            @RequestParam(defaultValue = "4") int bots,
+            @RequestParam(defaultValue = "AVERAGE") String skill) {
+        MultiplayerPlayer.BotSkill botSkill;
+        try {
+            botSkill = MultiplayerPlayer.BotSkill.valueOf(skill.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Bot skill must be NOVICE, AVERAGE or EXPERT");
+        }
+        return loadTestResponse(botLoadGenerator.start(rooms, bots, botSkill));
+    }
+
+    @PostMapping("/load-test/stop")
+    public ResponseEntity<Map<String, Object>> stopLoadTest() {
+        return loadTestResponse(botLoadGenerator.stop());
+    }
+
+    @GetMapping("/load-test")
+    public ResponseEntity<Map<String, Object>> getLoadTest() {
+        return loadTestResponse(botLoadGenerator.status());
+    }
+
+    private ResponseEntity<Map<String, Object>> loadTestResponse(BotLoadGenerator.Status status) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("loadTest", status);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> roomNotFound() {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", "Room not found");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Writes the cached encoding of the room's current version; CBOR only when the client asks for it.
+     * A client already holding the current version gets a bodiless 304 without any serialization.
+     */
+    private ResponseEntity<byte[]> snapshotResponse(MultiplayerRoom room, String accept, String ifNoneMatch) {
+        boolean cbor = prefersCbor(accept);
+        String currentTag = roomTag(room, room.getVersion(), cbor);
+        if (matchesTag(ifNoneMatch, currentTag)) {
+            return notModified(currentTag);
+        }
+        RoomSnapshotCache.Snapshot snapshot = snapshotCache.get(room);
+        return ResponseEntity.ok()
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .eTag(roomTag(room, snapshot.getVersion(), cbor))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(cbor ? snapshot.cbor() : snapshot.json());
+    }
+
+    /**
+     * Strong validator for a room version. The creation time tells apart rooms that reuse a code,
+     * and each encoding gets its own tag since the bytes differ.
+     */
+    private static String roomTag(MultiplayerRoom room, long version, boolean cbor) {
+        long createdAt = room.getCreatedAt() == null
+                ? 0L
+                : room.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + Long.toString(createdAt, 36) + "-" + version + (cbor ? "-cbor" : "") + "\"";
+    }
+
+    private static boolean matchesTag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                // If-None-Match uses the weak comparison
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    private boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType mediaType : accepted) {
+                if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+                if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private Map<String, Object> deltaResponse(MultiplayerRoom room, long sinceVersion) {
+        RoomDeltaDTO delta = roomService.getRoomDelta(room, sinceVersion);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("delta", delta);
+        return response;
+    }
+
+    // Manejo de excepciones
+
+    /**
+     * Room requests reaching a node that does not own the room are redirected to the owner;
+     * 307 keeps the method and body, so commands are replayed there unchanged.
+     */
+    @ExceptionHandler(RoomOwnedElsewhereException.class)
+    public ResponseEntity<Map<String, Object>> handleRoomOwnedElsewhere(RoomOwnedElsewhereException e,
+                                                                        HttpServletRequest request) {
+        String location = e.getOwner().baseUrl() + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        response.put("owner", e.getOwner().id());
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                .header(HttpHeaders.LOCATION, location)
+                .body(response);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,190 @@
+package com.example.gamebackend.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.example.gamebackend.event.MultiplayerRoomEvent;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.service.MultiplayerRoomService;
+import com.example.gamebackend.service.RoomOwnedElsewhereException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * WebSocket push channel for multiplayer rooms: ws(s)://host/ws/multiplayer/rooms/{roomCode}.
+ * Subscribers get the current room state on connect and every {@link MultiplayerRoomEvent} afterwards,
+ * so they no longer need to poll GET /api/multiplayer/rooms/{roomCode}.
+ * Events are serialized on the publishing thread (the room's mailbox) but written to the sockets by
+ * a small pool of dispatchers, so a slow client never stalls the room; a room always maps to the same
+ * dispatcher so its events keep their version order.
+ */
+@Component
+public class MultiplayerRoomSocketHandler extends TextWebSocketHandler {
+
+    public static final String PATH_PREFIX = "/ws/multiplayer/rooms/";
+
+    private static final Logger LOGGER = Logger.getLogger(MultiplayerRoomSocketHandler.class.getName());
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int BUFFER_SIZE_LIMIT = 256 * 1024;
+    private static final String ROOM_CODE_ATTRIBUTE = "roomCode";
+    private static final int DISPATCHER_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final MultiplayerRoomService roomService;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, Set<WebSocketSession>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService[] dispatchers = new ExecutorService[DISPATCHER_COUNT];
+
+    public MultiplayerRoomSocketHandler(MultiplayerRoomService roomService, ObjectMapper objectMapper) {
+        this.roomService = roomService;
+        this.objectMapper = objectMapper;
+        for (int i = 0; i < DISPATCHER_COUNT; i++) {
+            String name = "multiplayer-ws-" + i;
+            dispatchers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String roomCode = extractRoomCode(session.getUri());
+        MultiplayerRoom room;
+        try {
+            room = roomCode == null ? null : roomService.getRoom(roomCode);
+        } catch (RoomOwnedElsewhereException e) {
+            // Browsers do not follow handshake redirects: tell the client where to reconnect
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(
+                    "Room served by " + e.getOwner().baseUrl() + PATH_PREFIX + roomCode));
+            return;
+        }
+        if (room == null) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Room not found"));
+            return;
+        }
+
+        // Decorator serializes concurrent sends and drops clients that fall too far behind
+        WebSocketSession subscriber = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, BUFFER_SIZE_LIMIT);
+        session.getAttributes().put(ROOM_CODE_ATTRIBUTE, roomCode);
+        subscribers.computeIfAbsent(roomCode, code -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        TextMessage snapshot = roomService.readRoom(room,
+                current -> toMessage(new MultiplayerRoomEvent(MultiplayerRoomEvent.Type.ROOM_STATE, current, null)));
+        dispatcherFor(roomCode).execute(() -> send(roomCode, subscriber, snapshot));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Push-only channel: commands still go through the REST endpoints
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        String roomCode = (String) session.getAttributes().get(ROOM_CODE_ATTRIBUTE);
+        if (roomCode == null) {
+            return;
+        }
+        subscribers.computeIfPresent(roomCode, (code, sessions) -> {
+            sessions.removeIf(subscriber -> subscriber.getId().equals(session.getId()));
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Fans the event out to every subscriber of the room. The payload is serialized once per event.
+     */
+    @EventListener
+    public void onRoomEvent(MultiplayerRoomEvent event) {
+        Set<WebSocketSession> sessions = subscribers.get(event.getRoomCode());
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+        TextMessage message = toMessage(event);
+        dispatcherFor(event.getRoomCode()).execute(() -> {
+            for (WebSocketSession subscriber : sessions) {
+                send(event.getRoomCode(), subscriber, message);
+            }
+            if (event.isTerminal()) {
+                // 1012 asks clients to reconnect, which sends them to the room's new owner
+                CloseStatus status = event.getType() == MultiplayerRoomEvent.Type.ROOM_MOVED
+                        ? CloseStatus.SERVICE_RESTARTED
+                        : CloseStatus.NORMAL;
+                Set<WebSocketSession> closed = subscribers.remove(event.getRoomCode());
+                if (closed != null) {
+                    closed.forEach(subscriber -> closeQuietly(subscriber, status));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdownNow();
+        }
+    }
+
+    private ExecutorService dispatcherFor(String roomCode) {
+        return dispatchers[Math.floorMod(roomCode.hashCode(), DISPATCHER_COUNT)];
+    }
+
+    private void send(String roomCode, WebSocketSession subscriber, TextMessage message) {
+        try {
+            subscriber.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Dropping WebSocket subscriber of room " + roomCode, e);
+            Set<WebSocketSession> sessions = subscribers.get(roomCode);
+            if (sessions != null) {
+                sessions.remove(subscriber);
+            }
+            closeQuietly(subscriber, CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    private TextMessage toMessage(MultiplayerRoomEvent event) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize room event", e);
+        }
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            if (session.isOpen()) {
+                session.close(status);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing WebSocket session", e);
+        }
+    }
+
+    private static String extractRoomCode(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        String path = uri.getPath();
+        int index = path.lastIndexOf('/');
+        String code = index >= 0 ? path.substring(index + 1) : path;
+        return code.isBlank() ? null : code.toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.gamebackend.dto;
 
+import java.util.Locale;
+
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 
 /**
  * DTO used to create a new multiplayer room.
@@ -13,6 +20,22 @@ public class CreateRoomRequest {
     @NotBlank(message = "Username is required")
     private String username;
 
+    @Pattern(regexp = "(?i)EASY|NORMAL|HARD", message = "Difficulty must be EASY, NORMAL or HARD")
+    private String difficulty;
+
+    @Pattern(regexp = "[+\\-*]{1,3}", message = "Operations may only contain +, - and *")
+    private String operations;
+
+    @Min(value = 0, message = "Bots cannot be negative")
+    private Integer bots;
+
+    // Maximum players; above 5 the room is a large room (classrooms, stream events)
+    @Min(value = 2, message = "A room needs at least 2 seats")
+    private Integer capacity;
+
+    @Pattern(regexp = "(?i)NOVICE|AVERAGE|EXPERT", message = "Bot skill must be NOVICE, AVERAGE or EXPERT")
+    private String botSkill;
+
     public CreateRoomRequest() {
     }
 
@@ -36,4 +59,70 @@ public class CreateRoomRequest {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getOperations() {
+        return operations;
+    }
+
+    public void setOperations(String operations) {
+        this.operations = operations;
+    }
+
+    public Integer getBots() {
+        return bots;
+    }
+
+    public void setBots(Integer bots) {
+        this.bots = bots;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public String getBotSkill() {
+        return botSkill;
+    }
+
+    public void setBotSkill(String botSkill) {
+        this.botSkill = botSkill;
+    }
+
+    public MultiplayerRoom.Difficulty resolveDifficulty() {
+        if (difficulty == null || difficulty.isBlank()) {
+            return MultiplayerRoom.Difficulty.NORMAL;
+        }
+        return MultiplayerRoom.Difficulty.valueOf(difficulty.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String resolveOperations() {
+        return operations == null || operations.isBlank() ? MultiplayerRoom.DEFAULT_OPERATIONS : operations;
+    }
+
+    public int resolveCapacity() {
+        return capacity == null ? MultiplayerRoom.DEFAULT_CAPACITY : capacity;
+    }
+
+    public int resolveBots() {
+        return bots == null ? 1 : bots;
+    }
+
+    public MultiplayerPlayer.BotSkill resolveBotSkill() {
+        if (botSkill == null || botSkill.isBlank()) {
+            return MultiplayerPlayer.BotSkill.AVERAGE;
+        }
+        return MultiplayerPlayer.BotSkill.valueOf(botSkill.trim().toUpperCase(Locale.ROOT));
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.gamebackend.dto;
+
+import java.util.Locale;
+
+import com.example.gamebackend.model.MultiplayerRoom;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO used to enter the quick-match queue. Players are only matched with others who
+ * asked for the same difficulty and operation mix.
+ */
+public class MatchmakingRequest {
+
+    @NotBlank(message = "Player id is required")
+    private String playerId;
+
+    @NotBlank(message = "Username is required")
+    private String username;
+
+    @Pattern(regexp = "(?i)EASY|NORMAL|HARD", message = "Difficulty must be EASY, NORMAL or HARD")
+    private String difficulty;
+
+    @Pattern(regexp = "[+\\-*]{1,3}", message = "Operations may only contain +, - and *")
+    private String operations;
+
+    public MatchmakingRequest() {
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getOperations() {
+        return operations;
+    }
+
+    public void setOperations(String operations) {
+        this.operations = operations;
+    }
+
+    public MultiplayerRoom.Difficulty resolveDifficulty() {
+        if (difficulty == null || difficulty.isBlank()) {
+            return MultiplayerRoom.Difficulty.NORMAL;
+        }
+        return MultiplayerRoom.Difficulty.valueOf(difficulty.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String resolveOperations() {
+        return operations == null || operations.isBlank() ? MultiplayerRoom.DEFAULT_OPERATIONS : operations;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.gamebackend.dto;
+
+import java.util.List;
+
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerQuestion;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Versioned delta of a multiplayer room: only what changed after {@code fromVersion}.
+ * Null fields did not change. When {@code full} is true the client must rebuild its state
+ * from {@code players}/{@code playerIds} because the requested version is no longer known.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomDeltaDTO {
+
+    private String roomCode;
+    private long fromVersion;
+    private long version;
+    private boolean full;
+    private MultiplayerRoom.RoomStatus status;
+    private Integer currentQuestionIndex;
+    private MultiplayerQuestion currentQuestion;
+    private Long questionDeadline;
+    private List<String> playerIds;
+    private List<MultiplayerPlayer> players;
+    private boolean isFinished;
+    private List<MultiplayerPlayer> ranking;
+
+    /**
+     * Builds the delta; must run while the caller owns the room (inside its mailbox).
+     */
+    public static RoomDeltaDTO since(MultiplayerRoom room, long fromVersion, List<MultiplayerPlayer> ranking) {
+        RoomDeltaDTO delta = new RoomDeltaDTO();
+        delta.roomCode = room.getRoomCode();
+        delta.fromVersion = fromVersion;
+        delta.version = room.getVersion();
+        delta.full = fromVersion < room.getLoadedVersion() || fromVersion > room.getVersion();
+        delta.isFinished = room.getStatus() == MultiplayerRoom.RoomStatus.FINISHED;
+        if (!delta.full && fromVersion == room.getVersion()) {
+            return delta;
+        }
+
+        if (delta.full || room.getProgressVersion() > fromVersion) {
+            delta.status = room.getStatus();
+            delta.currentQuestionIndex = room.getCurrentQuestionIndex();
+            delta.currentQuestion = room.getCurrentQuestion();
+            delta.questionDeadline = room.getQuestionDeadline();
+        }
+        if (delta.full || room.getRosterVersion() > fromVersion) {
+            delta.playerIds = room.getPlayers().stream().map(MultiplayerPlayer::getId).toList();
+        }
+        List<MultiplayerPlayer> changed = room.getPlayers().stream()
+                .filter(player -> delta.full || player.getChangedVersion() > fromVersion)
+                .toList();
+        if (!changed.isEmpty()) {
+            delta.players = changed;
+        }
+        if (delta.isFinished) {
+            delta.ranking = ranking;
+        }
+        return delta;
+    }
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public MultiplayerRoom.RoomStatus getStatus() {
+        return status;
+    }
+
+    public Integer getCurrentQuestionIndex() {
+        return currentQuestionIndex;
+    }
+
+    public MultiplayerQuestion getCurrentQuestion() {
+        return currentQuestion;
+    }
+
+    public Long getQuestionDeadline() {
+        return questionDeadline;
+    }
+
+    public List<String> getPlayerIds() {
+        return playerIds;
+    }
+
+    public List<MultiplayerPlayer> getPlayers() {
+        return players;
+    }
+
+    public boolean getIsFinished() {
+        return isFinished;
+    }
+
+    public List<MultiplayerPlayer> getRanking() {
+        return ranking;
+    }
+}
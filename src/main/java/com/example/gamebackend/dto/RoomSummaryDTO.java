@@ -0,0 +1,51 @@
+package com.example.gamebackend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.gamebackend.model.MultiplayerRoom;
+
+/**
+ * Slim projection of a room used by the paginated listing.
+ */
+public class RoomSummaryDTO {
+
+    private final String roomCode;
+    private final MultiplayerRoom.RoomStatus status;
+    private final int playerCount;
+    private final String hostPlayerId;
+    private final LocalDateTime createdAt;
+
+    public RoomSummaryDTO(String roomCode, MultiplayerRoom.RoomStatus status, int playerCount,
+                          String hostPlayerId, LocalDateTime createdAt) {
+        this.roomCode = roomCode;
+        this.status = status;
+        this.playerCount = playerCount;
+        this.hostPlayerId = hostPlayerId;
+        this.createdAt = createdAt;
+    }
+
+    public static RoomSummaryDTO of(MultiplayerRoom room) {
+        return new RoomSummaryDTO(room.getRoomCode(), room.getStatus(), room.getPlayerCount(),
+                room.getHostPlayerId(), room.getCreatedAt());
+    }
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public MultiplayerRoom.RoomStatus getStatus() {
+        return status;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public String getHostPlayerId() {
+        return hostPlayerId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
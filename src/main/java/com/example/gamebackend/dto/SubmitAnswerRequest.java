@@ -3,6 +3,7 @@ package com.example.gamebackend.dto;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * DTO used to send an answer in multiplayer mode.
@@ -22,6 +23,18 @@ public class SubmitAnswerRequest {
     @Min(value = 0, message = "Response time must be positive")
     private long responseTime;
 
+    // Last room version seen by the client; when present the response only carries a delta
+    @Min(value = 0, message = "Known version must be zero or positive")
+    private Long knownVersion;
+
+    // Client-generated id reused on retries; a repeated id is answered without re-applying the answer
+    @Size(max = 64, message = "Request id must contain at most 64 characters")
+    private String requestId;
+
+    // Index of the question being answered; answers for an already answered question are ignored
+    @Min(value = 0, message = "Question index must be zero or positive")
+    private Integer questionIndex;
+
     public SubmitAnswerRequest() {
     }
 
@@ -63,4 +76,28 @@ public class SubmitAnswerRequest {
     public void setResponseTime(long responseTime) {
         this.responseTime = responseTime;
     }
+
+    public Long getKnownVersion() {
+        return knownVersion;
+    }
+
+    public void setKnownVersion(Long knownVersion) {
+        this.knownVersion = knownVersion;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public Integer getQuestionIndex() {
+        return questionIndex;
+    }
+
+    public void setQuestionIndex(Integer questionIndex) {
+        this.questionIndex = questionIndex;
+    }
 }
@@ -0,0 +1,85 @@
+package com.example.gamebackend.event;
+
+import java.util.List;
+
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerQuestion;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+/**
+ * Observer Pattern: application event published by MultiplayerRoomService whenever a room changes.
+ * Push channels (WebSocket, SSE) listen to it and forward the payload to subscribed clients.
+ */
+public class MultiplayerRoomEvent {
+
+    public enum Type {
+        ROOM_STATE,         // Initial snapshot sent to a new subscriber
+        PLAYER_JOINED,
+        PLAYER_LEFT,
+        GAME_STARTED,
+        ANSWER_SUBMITTED,
+        QUESTION_ADVANCED,
+        GAME_FINISHED,
+        ROOM_CLOSED,        // Last human left, the room no longer exists
+        ROOM_MOVED          // Another node owns the room now; clients reconnect and get redirected
+    }
+
+    private final Type type;
+
+    private final String roomCode;
+
+    private final long version;
+
+    private final MultiplayerRoom room;
+
+    private final MultiplayerQuestion currentQuestion;
+
+    private final List<MultiplayerPlayer> ranking;
+
+    private final long timestamp;
+
+    public MultiplayerRoomEvent(Type type, MultiplayerRoom room, List<MultiplayerPlayer> ranking) {
+        this.type = type;
+        this.roomCode = room.getRoomCode();
+        this.version = room.getVersion();
+        this.room = room;
+        this.currentQuestion = room.getCurrentQuestion();
+        this.ranking = ranking;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Whether this is the last event of the room on this node, after which subscribers are dropped.
+     */
+    public boolean isTerminal() {
+        return type == Type.ROOM_CLOSED || type == Type.ROOM_MOVED;
+    }
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public MultiplayerRoom getRoom() {
+        return room;
+    }
+
+    public MultiplayerQuestion getCurrentQuestion() {
+        return currentQuestion;
+    }
+
+    public List<MultiplayerPlayer> getRanking() {
+        return ranking;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.gamebackend.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Match history record: a small summary of an archived room plus the location of its
+ * full snapshot inside the compressed archive segments.
+ */
+@Document(collection = "match_history")
+public class MatchSummary {
+
+    // roomCode + createdAt: codes are reused, and archiving the same room twice overwrites the record
+    @Id
+    private String id;
+
+    private String roomCode;
+
+    private String hostPlayerId;
+
+    // Status the room had when it was archived (WAITING means abandoned before starting)
+    private MultiplayerRoom.RoomStatus finalStatus;
+
+    private MultiplayerRoom.Difficulty difficulty;
+
+    private String operations;
+
+    private long seed;
+
+    private int questionCount;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Indexed
+    private LocalDateTime archivedAt;
+
+    @Indexed
+    private List<String> playerIds;
+
+    private List<PlayerResult> results;
+
+    // Location of the full snapshot in the archive
+    private String segment;
+
+    private long offset;
+
+    private int length;
+
+    /**
+     * Builds the summary of a room; the room must no longer be mutated by anyone else.
+     */
+    public static MatchSummary of(MultiplayerRoom room) {
+        MatchSummary summary = new MatchSummary();
+        summary.id = idOf(room);
+        summary.roomCode = room.getRoomCode();
+        summary.hostPlayerId = room.getHostPlayerId();
+        summary.finalStatus = room.getStatus();
+        summary.difficulty = room.getDifficulty();
+        summary.operations = room.getOperations();
+        summary.seed = room.getSeed();
+        summary.questionCount = room.getQuestions().size();
+        summary.createdAt = room.getCreatedAt();
+        summary.startedAt = room.getStartedAt();
+        summary.finishedAt = room.getFinishedAt();
+        summary.archivedAt = LocalDateTime.now();
+        summary.playerIds = room.getPlayers().stream().map(MultiplayerPlayer::getId).toList();
+        summary.results = room.getPlayers().stream()
+                .sorted(MultiplayerRoom.RANKING_ORDER)
+                .map(PlayerResult::of)
+                .toList();
+        return summary;
+    }
+
+    public static String idOf(MultiplayerRoom room) {
+        long created = room.getCreatedAt() == null ? 0L : room.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return room.getRoomCode() + "-" + created;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public void setRoomCode(String roomCode) {
+        this.roomCode = roomCode;
+    }
+
+    public String getHostPlayerId() {
+        return hostPlayerId;
+    }
+
+    public void setHostPlayerId(String hostPlayerId) {
+        this.hostPlayerId = hostPlayerId;
+    }
+
+    public MultiplayerRoom.RoomStatus getFinalStatus() {
+        return finalStatus;
+    }
+
+    public void setFinalStatus(MultiplayerRoom.RoomStatus finalStatus) {
+        this.finalStatus = finalStatus;
+    }
+
+    public MultiplayerRoom.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(MultiplayerRoom.Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getOperations() {
+        return operations;
+    }
+
+    public void setOperations(String operations) {
+        this.operations = operations;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public void setQuestionCount(int questionCount) {
+        this.questionCount = questionCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public List<String> getPlayerIds() {
+        return playerIds;
+    }
+
+    public void setPlayerIds(List<String> playerIds) {
+        this.playerIds = playerIds;
+    }
+
+    public List<PlayerResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<PlayerResult> results) {
+        this.results = results;
+    }
+
+    public String getSegment() {
+        return segment;
+    }
+
+    public void setSegment(String segment) {
+        this.segment = segment;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Final standing of one player, in ranking order.
+     */
+    public record PlayerResult(String id, String username, boolean bot, int score,
+                               int answeredCount, double averageResponseTime) {
+
+        static PlayerResult of(MultiplayerPlayer player) {
+            return new PlayerResult(player.getId(), player.getUsername(), player.isBot(), player.getScore(),
+                    player.getAnsweredCount(), player.getAverageResponseTime());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.gamebackend.model;
 
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 import org.springframework.data.annotation.Transient;
@@ -8,32 +9,40 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * MultiplayerPlayer represents the Entity/Model and exposes a Builder Pattern for bots.
+ * While seated in a room its counters live only in the room's {@link PlayerStatsTable}; the
+ * player keeps its identity plus room and seat. Detached players (loading, after leaving) hold
+ * their counters in a small {@link Counters} object instead. The MongoDB form is written and read
+ * by the converters in {@code MongoConfig}, which read seated counters straight from the table.
  */
 public class MultiplayerPlayer {
     private String id;
 
     private String username;
 
-    private int score;
-
-    private int answeredCount;
-
-    private long totalResponseTime; // stored in milliseconds
-
     private boolean isBot;
 
     private boolean isReady;
 
+    // Skill profile driving a bot's accuracy and answer timing (null for humans)
+    private BotSkill botSkill;
+
     @Transient
     @JsonIgnore
     private MultiplayerRoom room;
 
+    // Index into the room's stats table, -1 while detached
+    @Transient
+    @JsonIgnore
+    private int seat = -1;
+
+    // Counters while detached; null while seated, when the table is the only copy
+    @Transient
+    @JsonIgnore
+    private Counters detached = new Counters();
+
     public MultiplayerPlayer(String id, String username) {
         this.id = id == null || id.isBlank() ? UUID.randomUUID().toString() : id;
         this.username = username;
-        this.score = 0;
-        this.answeredCount = 0;
-        this.totalResponseTime = 0;
         this.isBot = false;
         this.isReady = false;
     }
@@ -71,44 +80,80 @@ public class MultiplayerPlayer {
     }
 
     public int getScore() {
-        return score;
+        PlayerStatsTable stats = stats();
+        return stats != null ? stats.score(seat) : detached.score;
     }
 
     public void setScore(int score) {
-        this.score = score;
+        PlayerStatsTable stats = stats();
+        if (stats != null) {
+            stats.setScore(seat, score);
+        } else {
+            detached.score = score;
+        }
     }
 
     public void addScore(int points) {
-        this.score += points;
+        setScore(getScore() + points);
     }
 
     public int getAnsweredCount() {
-        return answeredCount;
+        PlayerStatsTable stats = stats();
+        return stats != null ? stats.answeredCount(seat) : detached.answeredCount;
     }
 
     public void setAnsweredCount(int answeredCount) {
-        this.answeredCount = answeredCount;
+        PlayerStatsTable stats = stats();
+        if (stats != null) {
+            stats.setAnsweredCount(seat, answeredCount);
+        } else {
+            detached.answeredCount = answeredCount;
+        }
     }
 
     public void incrementAnsweredCount() {
-        this.answeredCount++;
+        setAnsweredCount(getAnsweredCount() + 1);
     }
 
     public long getTotalResponseTime() {
-        return totalResponseTime;
+        PlayerStatsTable stats = stats();
+        return stats != null ? stats.totalResponseTime(seat) : detached.totalResponseTime;
     }
 
     public void setTotalResponseTime(long totalResponseTime) {
-        this.totalResponseTime = totalResponseTime;
+        PlayerStatsTable stats = stats();
+        if (stats != null) {
+            stats.setTotalResponseTime(seat, totalResponseTime);
+        } else {
+            detached.totalResponseTime = totalResponseTime;
+        }
     }
 
     public void addResponseTime(long responseTime) {
-        this.totalResponseTime += responseTime;
+        setTotalResponseTime(getTotalResponseTime() + responseTime);
+    }
+
+    /**
+     * Records one answer and keeps the owning room's ranking in order.
+     */
+    public void recordAnswer(int points, long responseTime) {
+        PlayerStatsTable stats = stats();
+        if (stats != null) {
+            stats.record(seat, points, responseTime);
+        } else {
+            detached.answeredCount++;
+            detached.totalResponseTime += responseTime;
+            detached.score += points;
+        }
+        if (room != null) {
+            room.playerAnswered(this);
+        }
     }
 
     public double getAverageResponseTime() {
-        if (answeredCount == 0) return 0;
-        return (double) totalResponseTime / answeredCount;
+        int answered = getAnsweredCount();
+        if (answered == 0) return 0;
+        return (double) getTotalResponseTime() / answered;
     }
 
     public boolean isBot() {
@@ -127,12 +172,114 @@ public class MultiplayerPlayer {
         isReady = ready;
     }
 
+    public BotSkill getBotSkill() {
+        return botSkill;
+    }
+
+    public void setBotSkill(BotSkill botSkill) {
+        this.botSkill = botSkill;
+    }
+
     public MultiplayerRoom getRoom() {
         return room;
     }
 
     public void setRoom(MultiplayerRoom room) {
+        if (room != this.room) {
+            detach();
+        }
+        this.room = room;
+    }
+
+    @JsonIgnore
+    public long getChangedVersion() {
+        PlayerStatsTable stats = stats();
+        return stats != null ? stats.changedVersion(seat) : detached.changedVersion;
+    }
+
+    public void markChanged(long version) {
+        PlayerStatsTable stats = stats();
+        if (stats != null) {
+            stats.setChangedVersion(seat, version);
+        } else {
+            detached.changedVersion = version;
+        }
+    }
+
+    /**
+     * Moves the counters into a free seat of the room's table.
+     */
+    void attach(MultiplayerRoom room, PlayerStatsTable stats) {
+        detach();
         this.room = room;
+        this.seat = stats.allocate(detached.score, detached.answeredCount,
+                detached.totalResponseTime, detached.changedVersion);
+        this.detached = null;
+    }
+
+    /**
+     * Copies the counters back into this object and frees the seat.
+     */
+    void detach() {
+        PlayerStatsTable stats = stats();
+        if (stats != null) {
+            Counters counters = new Counters();
+            counters.score = stats.score(seat);
+            counters.answeredCount = stats.answeredCount(seat);
+            counters.totalResponseTime = stats.totalResponseTime(seat);
+            counters.changedVersion = stats.changedVersion(seat);
+            stats.release(seat);
+            this.detached = counters;
+        }
+        this.seat = -1;
+        this.room = null;
+    }
+
+    private PlayerStatsTable stats() {
+        MultiplayerRoom owner = room;
+        return owner != null && seat >= 0 ? owner.getStatsTable() : null;
+    }
+
+    private static final class Counters {
+        private int score;
+        private int answeredCount;
+        private long totalResponseTime; // milliseconds
+        private long changedVersion;
+    }
+
+    /**
+     * Bot skill profiles: answer accuracy plus a log-normal response-time distribution
+     * (median and spread), clamped to a human-looking minimum.
+     */
+    public enum BotSkill {
+        NOVICE(0.55, 6_000, 0.40, 2_500),
+        AVERAGE(0.80, 3_500, 0.35, 1_500),
+        EXPERT(0.95, 1_800, 0.25, 800);
+
+        private final double accuracy;
+        private final long medianResponseMs;
+        private final double responseSpread;
+        private final long minResponseMs;
+
+        BotSkill(double accuracy, long medianResponseMs, double responseSpread, long minResponseMs) {
+            this.accuracy = accuracy;
+            this.medianResponseMs = medianResponseMs;
+            this.responseSpread = responseSpread;
+            this.minResponseMs = minResponseMs;
+        }
+
+        public double getAccuracy() {
+            return accuracy;
+        }
+
+        public boolean answersCorrectly(SplittableRandom random) {
+            return random.nextDouble() < accuracy;
+        }
+
+        public long sampleResponseTime(SplittableRandom random) {
+            long sample = Math.round(medianResponseMs * Math.exp(responseSpread * random.nextGaussian()));
+            return Math.max(minResponseMs, sample);
+        }
     }
 
     /**
@@ -142,6 +289,7 @@ public class MultiplayerPlayer {
         private final String id;
         private final String username;
         private boolean isBot = false;
+        private BotSkill botSkill;
         private MultiplayerRoom room;
 
         public Builder(String id, String username) {
@@ -154,6 +302,11 @@ public class MultiplayerPlayer {
             return this;
         }
 
+        public Builder skill(BotSkill botSkill) {
+            this.botSkill = botSkill;
+            return this;
+        }
+
         public Builder setRoom(MultiplayerRoom room) {
             this.room = room;
             return this;
@@ -161,6 +314,9 @@ public class MultiplayerPlayer {
 
         public MultiplayerPlayer build() {
             MultiplayerPlayer player = new MultiplayerPlayer(id, username, isBot);
+            if (isBot) {
+                player.setBotSkill(botSkill != null ? botSkill : BotSkill.AVERAGE);
+            }
             player.setRoom(this.room);
             return player;
         }
@@ -2,25 +2,67 @@ package com.example.gamebackend.model;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * MultiplayerRoom implements the Entity/Model pattern for multiplayer matches.
  */
 @Document(collection = "multiplayer_rooms")
+@CompoundIndex(name = "status_finishedAt", def = "{'status': 1, 'finishedAt': 1}")
+@CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': -1, '_id': -1}")
 public class MultiplayerRoom {
     @Id
     private String roomCode;
 
-    private final List<MultiplayerPlayer> players = new ArrayList<>();
+    // Copy-on-write so live rooms can be serialized while another request mutates them
+    private List<MultiplayerPlayer> players = new CopyOnWriteArrayList<>();
+
+    private List<MultiplayerQuestion> questions = new CopyOnWriteArrayList<>();
+
+    // Denormalized players.size() so listings can project it without reading the roster
+    private int playerCount;
+
+    // Maximum number of players (humans and bots); above DEFAULT_CAPACITY the room is a large room
+    private int capacity;
+
+    // Per-player counters by seat; players keep only their seat while they are in the room
+    @Transient
+    @JsonIgnore
+    private PlayerStatsTable statsTable = new PlayerStatsTable(DEFAULT_CAPACITY);
 
-    private final List<MultiplayerQuestion> questions = new ArrayList<>();
+    // Id -> player index over the roster; rebuilt by setPlayers, kept in sync by add/remove
+    @Transient
+    @JsonIgnore
+    private Map<String, MultiplayerPlayer> playersById = new HashMap<>();
+
+    // Humans in the roster, and players who already answered the current question
+    @Transient
+    @JsonIgnore
+    private int humanCount;
+
+    @Transient
+    @JsonIgnore
+    private int answeredCurrentCount;
 
     private int currentQuestionIndex;
 
+    @Indexed
     private RoomStatus status;
 
     private LocalDateTime createdAt;
@@ -31,23 +73,114 @@ public class MultiplayerRoom {
 
     private String hostPlayerId;
 
+    // Monotonic state version, bumped by every mutation of the room
+    private volatile long version;
+
+    // Players ordered by score (desc) and average response time (asc), kept up to date on every change
+    @Transient
+    @JsonIgnore
+    private List<MultiplayerPlayer> ranking = new ArrayList<>();
+
+    // Delta tracking (memory only): versions at which the roster and the question flow last changed
+    @Transient
+    @JsonIgnore
+    private long rosterVersion;
+
+    @Transient
+    @JsonIgnore
+    private long progressVersion;
+
+    // Version the room had when it was loaded into memory; older deltas cannot be reconstructed
+    @Transient
+    @JsonIgnore
+    private long loadedVersion;
+
+    // Sequence of the last room_events entry reflected in this state; replay resumes after it
+    @JsonIgnore
+    private long logSequence;
+
+    // Log sequence covered by the last stored snapshot (memory only, drives the snapshot cadence)
+    @Transient
+    @JsonIgnore
+    private long snapshotSequence;
+
+    private Difficulty difficulty;
+
+    // Operation mix used to build the questions, e.g. "+-*"
+    private String operations;
+
+    // Epoch millis at which the current question times out (0 when no question is running)
+    private long questionDeadline;
+
+    // Recent answer request ids (playerId + requestId), oldest evicted first; memory only
+    @Transient
+    @JsonIgnore
+    private final Set<String> answerReceipts = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > ANSWER_RECEIPT_WINDOW;
+        }
+    });
+
+    // Seed of the match: rebuilds the question set and drives every bot decision
+    private long seed;
+
     public enum RoomStatus {
         WAITING,    // Waiting for players
         PLAYING,    // Match running
         FINISHED    // Match finished
     }
 
+    public enum Difficulty {
+        EASY(10, 5),
+        NORMAL(20, 20),
+        HARD(50, 31);
+
+        private final int maxOperand;
+        private final int maxFactor;    // keeps products within the 3-digit answer limit
+
+        Difficulty(int maxOperand, int maxFactor) {
+            this.maxOperand = maxOperand;
+            this.maxFactor = maxFactor;
+        }
+
+        public int getMaxOperand() {
+            return maxOperand;
+        }
+
+        public int getMaxFactor() {
+            return maxFactor;
+        }
+    }
+
+    public static final String DEFAULT_OPERATIONS = "+-*";
+
+    public static final int DEFAULT_CAPACITY = 5;
+
+    // Dedupe window for answer retries: enough for every player of a few rounds
+    private static final int ANSWER_RECEIPT_WINDOW = 128;
+
+    public static final Comparator<MultiplayerPlayer> RANKING_ORDER = Comparator
+            .comparingInt(MultiplayerPlayer::getScore).reversed()
+            .thenComparingDouble(MultiplayerPlayer::getAverageResponseTime)
+            .thenComparing(MultiplayerPlayer::getId);
+
     public MultiplayerRoom(String roomCode, String hostPlayerId) {
         this.roomCode = roomCode;
         this.hostPlayerId = hostPlayerId;
         this.currentQuestionIndex = 0;
+        this.capacity = DEFAULT_CAPACITY;
         this.status = RoomStatus.WAITING;
         this.createdAt = LocalDateTime.now();
+        this.difficulty = Difficulty.NORMAL;
+        this.operations = DEFAULT_OPERATIONS;
     }
 
     public MultiplayerRoom() {
         this.status = RoomStatus.WAITING;
         this.createdAt = LocalDateTime.now();
+        this.difficulty = Difficulty.NORMAL;
+        this.operations = DEFAULT_OPERATIONS;
     }
 
     // Getters and setters
@@ -64,39 +197,166 @@ public class MultiplayerRoom {
     }
 
     public void setPlayers(List<MultiplayerPlayer> players) {
-        this.players.clear();
-        if (players == null) {
-            return;
+        List<MultiplayerPlayer> roster = new ArrayList<>();
+        if (players != null) {
+            for (MultiplayerPlayer player : players) {
+                if (player != null) {
+                    // Back to the player's own fields before the table is replaced
+                    player.detach();
+                    roster.add(player);
+                }
+            }
         }
-        for (MultiplayerPlayer player : players) {
-            if (player != null) {
-                addPlayer(player);
+        this.statsTable = new PlayerStatsTable(Math.max(getCapacity(), roster.size()));
+        for (MultiplayerPlayer player : roster) {
+            player.attach(this, statsTable);
+        }
+        this.players = new CopyOnWriteArrayList<>(roster);
+        this.playerCount = roster.size();
+        this.playersById = new HashMap<>();
+        this.humanCount = 0;
+        for (MultiplayerPlayer player : roster) {
+            playersById.put(player.getId(), player);
+            if (!player.isBot()) {
+                humanCount++;
             }
         }
+        recountAnswered();
+        roster.sort(RANKING_ORDER);
+        this.ranking = roster;
     }
 
     public void addPlayer(MultiplayerPlayer player) {
         if (player == null) {
             return;
         }
-        player.setRoom(this);
+        player.attach(this, statsTable);
         this.players.add(player);
+        this.playerCount = players.size();
+        playersById.put(player.getId(), player);
+        if (!player.isBot()) {
+            humanCount++;
+        }
+        if (hasAnsweredCurrent(player)) {
+            answeredCurrentCount++;
+        }
+        insertRanked(player);
     }
 
     public void removePlayer(String playerId) {
         if (playerId == null) {
             return;
         }
-        this.players.removeIf(p -> {
-            if (p == null) {
-                return false;
-            }
-            boolean matches = p.getId().equals(playerId);
-            if (matches) {
-                p.setRoom(null);
+        MultiplayerPlayer player = playersById.remove(playerId);
+        if (player == null) {
+            return;
+        }
+        players.remove(player);
+        ranking.remove(player);
+        this.playerCount = players.size();
+        if (!player.isBot()) {
+            humanCount--;
+        }
+        if (hasAnsweredCurrent(player)) {
+            answeredCurrentCount--;
+        }
+        player.detach();
+    }
+
+    /**
+     * O(1) lookup of a player by id.
+     */
+    public MultiplayerPlayer findPlayer(String playerId) {
+        return playerId == null ? null : playersById.get(playerId);
+    }
+
+    public boolean hasHumanPlayers() {
+        return humanCount > 0;
+    }
+
+    /**
+     * True once every player, bots included, answered the current question.
+     */
+    public boolean allPlayersAnswered() {
+        return answeredCurrentCount >= players.size();
+    }
+
+    /**
+     * Called by {@link MultiplayerPlayer#recordAnswer} after the player's stats changed.
+     */
+    public void playerAnswered(MultiplayerPlayer player) {
+        if (player.getAnsweredCount() == currentQuestionIndex + 1) {
+            answeredCurrentCount++;
+        }
+        rankingChanged(player);
+    }
+
+    private boolean hasAnsweredCurrent(MultiplayerPlayer player) {
+        return player.getAnsweredCount() > currentQuestionIndex;
+    }
+
+    private void recountAnswered() {
+        int answered = 0;
+        for (MultiplayerPlayer player : players) {
+            if (hasAnsweredCurrent(player)) {
+                answered++;
             }
-            return matches;
-        });
+        }
+        this.answeredCurrentCount = answered;
+    }
+
+    /**
+     * Whether an answer with this request id was already applied (within the dedupe window).
+     */
+    public boolean hasAnswerReceipt(String playerId, String requestId) {
+        return answerReceipts.contains(playerId + ':' + requestId);
+    }
+
+    public void recordAnswerReceipt(String playerId, String requestId) {
+        answerReceipts.add(playerId + ':' + requestId);
+    }
+
+    public int getCapacity() {
+        return capacity > 0 ? capacity : DEFAULT_CAPACITY;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+        statsTable.ensureCapacity(capacity);
+    }
+
+    public boolean isLargeRoom() {
+        return getCapacity() > DEFAULT_CAPACITY;
+    }
+
+    @JsonIgnore
+    public PlayerStatsTable getStatsTable() {
+        return statsTable;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Repositions a player in the ranking after its score or response time changed, without re-sorting.
+     */
+    public void rankingChanged(MultiplayerPlayer player) {
+        if (ranking.remove(player)) {
+            insertRanked(player);
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} players without sorting.
+     */
+    public List<MultiplayerPlayer> topPlayers(int limit) {
+        return List.copyOf(ranking.subList(0, Math.min(limit, ranking.size())));
+    }
+
+    private void insertRanked(MultiplayerPlayer player) {
+        int index = Collections.binarySearch(ranking, player, RANKING_ORDER);
+        ranking.add(index < 0 ? -index - 1 : index, player);
     }
 
     public List<MultiplayerQuestion> getQuestions() {
@@ -104,14 +364,22 @@ public class MultiplayerRoom {
     }
 
     public void setQuestions(List<MultiplayerQuestion> questions) {
-        this.questions.clear();
+        List<MultiplayerQuestion> copy = new ArrayList<>();
         if (questions != null) {
             for (MultiplayerQuestion question : questions) {
                 if (question != null) {
-                    this.questions.add(question);
+                    copy.add(question);
                 }
             }
         }
+        this.questions = new CopyOnWriteArrayList<>(copy);
+    }
+
+    /**
+     * Adopts an immutable question set shared with other rooms (no copy).
+     */
+    public void assignQuestionSet(List<MultiplayerQuestion> questionSet) {
+        this.questions = List.copyOf(questionSet);
     }
 
     public int getCurrentQuestionIndex() {
@@ -120,10 +388,12 @@ public class MultiplayerRoom {
 
     public void setCurrentQuestionIndex(int currentQuestionIndex) {
         this.currentQuestionIndex = currentQuestionIndex;
+        recountAnswered();
     }
 
     public void nextQuestion() {
         this.currentQuestionIndex++;
+        recountAnswered();
     }
 
     public MultiplayerQuestion getCurrentQuestion() {
@@ -173,6 +443,112 @@ public class MultiplayerRoom {
         this.hostPlayerId = hostPlayerId;
     }
 
+    public Difficulty getDifficulty() {
+        return difficulty != null ? difficulty : Difficulty.NORMAL;
+    }
+
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getOperations() {
+        return operations != null && !operations.isBlank() ? operations : DEFAULT_OPERATIONS;
+    }
+
+    public void setOperations(String operations) {
+        this.operations = operations;
+    }
+
+    public long getQuestionDeadline() {
+        return questionDeadline;
+    }
+
+    public void setQuestionDeadline(long questionDeadline) {
+        this.questionDeadline = questionDeadline;
+    }
+
+    // Shared with every room that drew the same pooled question set; clients do not need it
+    @JsonIgnore
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Deterministic generator for the current question. Each question gets an independent stream,
+     * so a replay does not depend on how many values earlier rounds consumed or on restarts. The
+     * room code is mixed in because pooled question sets hand the same seed to several rooms,
+     * whose bots would otherwise answer identically.
+     */
+    public SplittableRandom roundRandom() {
+        long state = (seed ^ roomCode.hashCode()) + 0x9E3779B97F4A7C15L * (currentQuestionIndex + 1L);
+        state = (state ^ (state >>> 30)) * 0xBF58476D1CE4E5B9L;
+        state = (state ^ (state >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(state ^ (state >>> 31));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long bumpVersion() {
+        return ++version;
+    }
+
+    public long getRosterVersion() {
+        return rosterVersion;
+    }
+
+    public void markRosterChanged() {
+        this.rosterVersion = version;
+    }
+
+    public long getProgressVersion() {
+        return progressVersion;
+    }
+
+    public void markProgressChanged() {
+        this.progressVersion = version;
+    }
+
+    public long getLoadedVersion() {
+        return loadedVersion;
+    }
+
+    public void markLoaded() {
+        this.loadedVersion = version;
+    }
+
+    public long getLogSequence() {
+        return logSequence;
+    }
+
+    public void setLogSequence(long logSequence) {
+        this.logSequence = logSequence;
+    }
+
+    public long nextLogSequence() {
+        return ++logSequence;
+    }
+
+    /**
+     * Number of log entries recorded since the last stored snapshot.
+     */
+    public long entriesSinceSnapshot() {
+        return logSequence - snapshotSequence;
+    }
+
+    public void markSnapshotted() {
+        this.snapshotSequence = logSequence;
+    }
+
     public boolean isHost(String playerId) {
         return hostPlayerId.equals(playerId);
     }
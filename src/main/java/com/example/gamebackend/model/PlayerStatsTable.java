@@ -0,0 +1,118 @@
+package com.example.gamebackend.model;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for the per-player counters of one room, indexed by seat.
+ * Answer processing only touches a few primitive slots, so large rooms (hundreds of
+ * players) stay compact and cache friendly. Seats of players who left are reused.
+ * Mutated only by the room's owner (its mailbox); readers may see slightly stale values.
+ */
+public final class PlayerStatsTable {
+
+    private int[] scores;
+    private int[] answeredCounts;
+    private long[] totalResponseTimes;
+    private long[] changedVersions;
+    private int[] freeSeats = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    public PlayerStatsTable(int initialCapacity) {
+        int capacity = Math.max(4, initialCapacity);
+        this.scores = new int[capacity];
+        this.answeredCounts = new int[capacity];
+        this.totalResponseTimes = new long[capacity];
+        this.changedVersions = new long[capacity];
+    }
+
+    /**
+     * Takes a free seat initialized with the given counters.
+     */
+    public int allocate(int score, int answeredCount, long totalResponseTime, long changedVersion) {
+        int seat;
+        if (freeCount > 0) {
+            seat = freeSeats[--freeCount];
+        } else {
+            if (highWater == scores.length) {
+                grow();
+            }
+            seat = highWater++;
+        }
+        scores[seat] = score;
+        answeredCounts[seat] = answeredCount;
+        totalResponseTimes[seat] = totalResponseTime;
+        changedVersions[seat] = changedVersion;
+        return seat;
+    }
+
+    public void release(int seat) {
+        if (freeCount == freeSeats.length) {
+            freeSeats = Arrays.copyOf(freeSeats, Math.max(4, freeSeats.length * 2));
+        }
+        freeSeats[freeCount++] = seat;
+    }
+
+    public void record(int seat, int points, long responseTime) {
+        scores[seat] += points;
+        answeredCounts[seat]++;
+        totalResponseTimes[seat] += responseTime;
+    }
+
+    public int score(int seat) {
+        return scores[seat];
+    }
+
+    public void setScore(int seat, int score) {
+        scores[seat] = score;
+    }
+
+    public int answeredCount(int seat) {
+        return answeredCounts[seat];
+    }
+
+    public void setAnsweredCount(int seat, int answeredCount) {
+        answeredCounts[seat] = answeredCount;
+    }
+
+    public long totalResponseTime(int seat) {
+        return totalResponseTimes[seat];
+    }
+
+    public void setTotalResponseTime(int seat, long totalResponseTime) {
+        totalResponseTimes[seat] = totalResponseTime;
+    }
+
+    public long changedVersion(int seat) {
+        return changedVersions[seat];
+    }
+
+    public void setChangedVersion(int seat, long changedVersion) {
+        changedVersions[seat] = changedVersion;
+    }
+
+    /**
+     * Makes room for {@code seats} players at once, so seating a large room does not grow the
+     * arrays step by step.
+     */
+    public void ensureCapacity(int seats) {
+        if (seats > scores.length) {
+            resize(seats);
+        }
+    }
+
+    int seatCapacity() {
+        return scores.length;
+    }
+
+    private void grow() {
+        resize(scores.length * 2);
+    }
+
+    private void resize(int capacity) {
+        scores = Arrays.copyOf(scores, capacity);
+        answeredCounts = Arrays.copyOf(answeredCounts, capacity);
+        totalResponseTimes = Arrays.copyOf(totalResponseTimes, capacity);
+        changedVersions = Arrays.copyOf(changedVersions, capacity);
+    }
+}
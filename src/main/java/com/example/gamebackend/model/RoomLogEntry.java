@@ -0,0 +1,239 @@
+package com.example.gamebackend.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One entry of a room's append-only event log. Entries record facts rather than commands (the
+ * points an answer scored, the deadline a question got), so replaying them over the last stored
+ * snapshot rebuilds the room without re-running any game logic. Only the fields of the entry type
+ * are set; the rest stay null and are not stored.
+ */
+@Document(collection = "room_events")
+@CompoundIndex(name = "room_sequence", def = "{'roomId': 1, 'sequence': 1}", unique = true)
+public class RoomLogEntry {
+
+    public enum Type {
+        CREATED,    // Room opened (initial snapshot stored alongside)
+        JOINED,     // Human player joined
+        STARTED,    // Question set drawn and first question opened
+        ANSWERED,   // A player's answer (or timeout) was scored
+        ADVANCED,   // Next question opened
+        FINISHED,   // Last round closed
+        LEFT,       // Player left the room
+        CLOSED      // Room removed from memory and MongoDB; the log outlives it
+    }
+
+    @Id
+    private String id;
+
+    // Same key as the match history (roomCode + createdAt), since room codes are reused
+    private String roomId;
+
+    private long sequence;
+
+    // Room version once this entry was applied
+    private long version;
+
+    private Type type;
+
+    private String playerId;
+
+    private String username;
+
+    private Integer points;
+
+    private Long responseTime;
+
+    private Integer questionIndex;
+
+    private Long questionDeadline;
+
+    private Long seed;
+
+    private List<MultiplayerQuestion> questions;
+
+    // Old logs are kept for audit and replay, then expire
+    @Indexed(expireAfter = "30d")
+    private LocalDateTime recordedAt;
+
+    public RoomLogEntry() {
+        // Mapping constructor
+    }
+
+    private RoomLogEntry(Type type) {
+        this.type = type;
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    public static RoomLogEntry created(MultiplayerRoom room) {
+        RoomLogEntry entry = new RoomLogEntry(Type.CREATED);
+        entry.playerId = room.getHostPlayerId();
+        entry.recordedAt = room.getCreatedAt();
+        return entry;
+    }
+
+    public static RoomLogEntry joined(MultiplayerPlayer player) {
+        RoomLogEntry entry = new RoomLogEntry(Type.JOINED);
+        entry.playerId = player.getId();
+        entry.username = player.getUsername();
+        return entry;
+    }
+
+    public static RoomLogEntry started(MultiplayerRoom room) {
+        RoomLogEntry entry = new RoomLogEntry(Type.STARTED);
+        entry.seed = room.getSeed();
+        entry.questions = List.copyOf(room.getQuestions());
+        entry.questionIndex = room.getCurrentQuestionIndex();
+        entry.questionDeadline = room.getQuestionDeadline();
+        entry.recordedAt = room.getStartedAt();
+        return entry;
+    }
+
+    public static RoomLogEntry answered(MultiplayerPlayer player, int questionIndex, int points, long responseTime) {
+        RoomLogEntry entry = new RoomLogEntry(Type.ANSWERED);
+        entry.playerId = player.getId();
+        entry.questionIndex = questionIndex;
+        entry.points = points;
+        entry.responseTime = responseTime;
+        return entry;
+    }
+
+    public static RoomLogEntry advanced(MultiplayerRoom room) {
+        RoomLogEntry entry = new RoomLogEntry(Type.ADVANCED);
+        entry.questionIndex = room.getCurrentQuestionIndex();
+        entry.questionDeadline = room.getQuestionDeadline();
+        return entry;
+    }
+
+    public static RoomLogEntry finished(MultiplayerRoom room) {
+        RoomLogEntry entry = new RoomLogEntry(Type.FINISHED);
+        entry.questionIndex = room.getCurrentQuestionIndex();
+        entry.recordedAt = room.getFinishedAt();
+        return entry;
+    }
+
+    public static RoomLogEntry left(String playerId) {
+        RoomLogEntry entry = new RoomLogEntry(Type.LEFT);
+        entry.playerId = playerId;
+        return entry;
+    }
+
+    public static RoomLogEntry closed() {
+        return new RoomLogEntry(Type.CLOSED);
+    }
+
+    /**
+     * Places the entry in the room's log; called from inside the room's mailbox.
+     */
+    public RoomLogEntry appendTo(MultiplayerRoom room) {
+        this.roomId = MatchSummary.idOf(room);
+        this.sequence = room.nextLogSequence();
+        this.version = room.getVersion();
+        return this;
+    }
+
+    /**
+     * Projection step: applies the recorded fact to a room restored from an older snapshot.
+     */
+    public void applyTo(MultiplayerRoom room) {
+        switch (type) {
+            case JOINED -> {
+                if (room.findPlayer(playerId) == null) {
+                    room.addPlayer(new MultiplayerPlayer(playerId, username));
+                }
+            }
+            case STARTED -> {
+                room.setSeed(seed);
+                room.assignQuestionSet(questions);
+                room.setCurrentQuestionIndex(questionIndex);
+                room.setStatus(MultiplayerRoom.RoomStatus.PLAYING);
+                room.setStartedAt(recordedAt);
+                room.setQuestionDeadline(questionDeadline);
+            }
+            case ANSWERED -> {
+                MultiplayerPlayer player = room.findPlayer(playerId);
+                if (player != null && player.getAnsweredCount() <= questionIndex) {
+                    player.recordAnswer(points, responseTime);
+                }
+            }
+            case ADVANCED -> {
+                room.setCurrentQuestionIndex(questionIndex);
+                room.setQuestionDeadline(questionDeadline);
+            }
+            case FINISHED -> {
+                room.setCurrentQuestionIndex(questionIndex);
+                room.setStatus(MultiplayerRoom.RoomStatus.FINISHED);
+                room.setFinishedAt(recordedAt);
+                room.setQuestionDeadline(0L);
+            }
+            case LEFT -> room.removePlayer(playerId);
+            case CREATED, CLOSED -> {
+                // Nothing to rebuild: the snapshot carries the room as created
+            }
+        }
+        room.setVersion(Math.max(room.getVersion(), version));
+        room.setLogSequence(sequence);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public Long getResponseTime() {
+        return responseTime;
+    }
+
+    public Integer getQuestionIndex() {
+        return questionIndex;
+    }
+
+    public Long getQuestionDeadline() {
+        return questionDeadline;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public List<MultiplayerQuestion> getQuestions() {
+        return questions;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+}
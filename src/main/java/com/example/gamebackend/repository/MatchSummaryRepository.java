@@ -0,0 +1,14 @@
+package com.example.gamebackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.gamebackend.model.MatchSummary;
+
+@Repository
+public interface MatchSummaryRepository extends MongoRepository<MatchSummary, String> {
+    List<MatchSummary> findByPlayerIdsOrderByArchivedAtDesc(String playerId, Pageable pageable);
+}
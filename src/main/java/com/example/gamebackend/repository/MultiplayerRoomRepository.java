@@ -1,8 +1,16 @@
 package com.example.gamebackend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.example.gamebackend.model.MultiplayerRoom;
 
-public interface MultiplayerRoomRepository extends MongoRepository<MultiplayerRoom, String> {
+public interface MultiplayerRoomRepository extends MongoRepository<MultiplayerRoom, String>, MultiplayerRoomRepositoryCustom {
+    List<MultiplayerRoom> findByStatusIn(Collection<MultiplayerRoom.RoomStatus> statuses);
+    List<MultiplayerRoom> findByStatusAndFinishedAtBeforeAndRoomCodeGreaterThan(MultiplayerRoom.RoomStatus status, LocalDateTime cutoff,
+                                                                                String afterRoomCode, Pageable pageable);
 }
@@ -0,0 +1,33 @@
+package com.example.gamebackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+
+import com.example.gamebackend.model.MultiplayerRoom;
+
+/**
+ * Field-level operations for multiplayer rooms that avoid reading or rewriting the whole document.
+ */
+public interface MultiplayerRoomRepositoryCustom {
+
+    /**
+     * Returns every stored room code without loading the documents.
+     */
+    List<String> findAllRoomCodes();
+
+    /**
+     * Replaces (or inserts) the stored room with an already converted snapshot.
+     */
+    void saveSnapshot(String roomCode, Document snapshot);
+
+    /**
+     * Keyset page of rooms in the given statuses, newest first, strictly after the
+     * (createdAt, roomCode) cursor when one is given. Only the summary fields are loaded:
+     * players and questions are left empty.
+     */
+    List<MultiplayerRoom> findRoomSummaries(Collection<MultiplayerRoom.RoomStatus> statuses,
+                                            LocalDateTime beforeCreatedAt, String beforeRoomCode, int limit);
+}
@@ -0,0 +1,54 @@
+package com.example.gamebackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+
+public class MultiplayerRoomRepositoryImpl implements MultiplayerRoomRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MultiplayerRoomRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<String> findAllRoomCodes() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(MultiplayerRoom.class))
+                .distinct("_id", String.class)
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public void saveSnapshot(String roomCode, Document snapshot) {
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(MultiplayerRoom.class))
+                .replaceOne(Filters.eq("_id", roomCode), snapshot, new ReplaceOptions().upsert(true));
+    }
+
+    @Override
+    public List<MultiplayerRoom> findRoomSummaries(Collection<MultiplayerRoom.RoomStatus> statuses,
+                                                   LocalDateTime beforeCreatedAt, String beforeRoomCode, int limit) {
+        Criteria criteria = Criteria.where("status").in(statuses);
+        if (beforeCreatedAt != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(beforeCreatedAt),
+                    Criteria.where("createdAt").is(beforeCreatedAt).and("roomCode").lt(beforeRoomCode));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "roomCode"))
+                .limit(limit);
+        query.fields().include("roomCode", "status", "playerCount", "hostPlayerId", "createdAt");
+        return mongoTemplate.find(query, MultiplayerRoom.class);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.gamebackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.gamebackend.model.RoomLogEntry;
+
+@Repository
+public interface RoomLogRepository extends MongoRepository<RoomLogEntry, String> {
+    List<RoomLogEntry> findByRoomIdAndSequenceGreaterThanOrderBySequenceAsc(String roomId, long sequence);
+}
@@ -0,0 +1,167 @@
+package com.example.gamebackend.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.event.MultiplayerRoomEvent;
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Built-in load generator for capacity testing: keeps a target number of bot-only rooms
+ * playing through the regular service paths (mailboxes, timers, write-behind, events).
+ * Each finished match is closed and replaced by a new one until the run is stopped.
+ * Only available when app.multiplayer.load-test-enabled is true.
+ */
+@Component
+public class BotLoadGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(BotLoadGenerator.class.getName());
+    private static final String HOST_PREFIX = "load-host-";
+
+    private final MultiplayerRoomService roomService;
+    private final boolean enabled;
+    private final Set<String> activeRooms = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hostSequence = new AtomicLong();
+    private final AtomicLong completedMatches = new AtomicLong();
+    private final AtomicLong failedLaunches = new AtomicLong();
+    // Launches and closes run here: room events are delivered inside mailboxes and must not block
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bot-load-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Run run;
+
+    public BotLoadGenerator(MultiplayerRoomService roomService, AppProperties appProperties) {
+        this.roomService = roomService;
+        this.enabled = appProperties.getMultiplayer().isLoadTestEnabled();
+    }
+
+    /**
+     * Starts (or resizes) a run with the given number of concurrent rooms.
+     */
+    public synchronized Status start(int rooms, int botsPerRoom, MultiplayerPlayer.BotSkill skill) {
+        if (!enabled) {
+            throw new IllegalStateException("Load testing is disabled on this server");
+        }
+        if (rooms < 1) {
+            throw new IllegalArgumentException("At least one room is required");
+        }
+        if (botsPerRoom < 1) {
+            throw new IllegalArgumentException("Each room needs at least one bot besides its host");
+        }
+        run = new Run(rooms, botsPerRoom, skill != null ? skill : MultiplayerPlayer.BotSkill.AVERAGE);
+        int missing = rooms - activeRooms.size();
+        for (int i = 0; i < missing; i++) {
+            launcher.execute(this::launchRoom);
+        }
+        return status();
+    }
+
+    /**
+     * Stops replacing finished matches and closes every room of the run.
+     */
+    public synchronized Status stop() {
+        run = null;
+        List<String> rooms = List.copyOf(activeRooms);
+        launcher.execute(() -> rooms.forEach(this::closeRoom));
+        return status();
+    }
+
+    public Status status() {
+        Run current = run;
+        return new Status(current != null,
+                current != null ? current.rooms() : 0,
+                activeRooms.size(),
+                completedMatches.get(),
+                failedLaunches.get(),
+                current != null ? current.botsPerRoom() : 0,
+                current != null ? current.skill() : null);
+    }
+
+    @EventListener
+    public void onRoomEvent(MultiplayerRoomEvent event) {
+        if (event.getType() != MultiplayerRoomEvent.Type.GAME_FINISHED || !activeRooms.contains(event.getRoomCode())) {
+            return;
+        }
+        completedMatches.incrementAndGet();
+        launcher.execute(() -> {
+            closeRoom(event.getRoomCode());
+            Run current = run;
+            if (current != null && activeRooms.size() < current.rooms()) {
+                launchRoom();
+            }
+        });
+    }
+
+    private void launchRoom() {
+        Run current = run;
+        if (current == null || activeRooms.size() >= current.rooms()) {
+            return;
+        }
+        String hostId = HOST_PREFIX + hostSequence.incrementAndGet();
+        MultiplayerRoom room = null;
+        try {
+            room = roomService.createBotRoom(hostId, current.botsPerRoom(), current.skill());
+            activeRooms.add(room.getRoomCode());
+            roomService.startGame(room.getRoomCode(), hostId);
+        } catch (RuntimeException e) {
+            failedLaunches.incrementAndGet();
+            LOGGER.log(Level.FINE, "Load generator could not launch a room", e);
+            if (room != null) {
+                abandon(room.getRoomCode());
+            }
+        }
+    }
+
+    /**
+     * A room that never started would hold its slots forever: close it and free the run's slot.
+     */
+    private void abandon(String roomCode) {
+        activeRooms.remove(roomCode);
+        try {
+            roomService.abandonRoom(roomCode);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not close failed load-test room " + roomCode, e);
+        }
+    }
+
+    private void closeRoom(String roomCode) {
+        if (!activeRooms.remove(roomCode)) {
+            return;
+        }
+        MultiplayerRoom room = roomService.getRoom(roomCode);
+        if (room != null) {
+            // Removing the bot host leaves no humans, which closes and deletes the room
+            roomService.leaveRoom(roomCode, room.getHostPlayerId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private record Run(int rooms, int botsPerRoom, MultiplayerPlayer.BotSkill skill) {
+    }
+
+    /**
+     * Snapshot of the current load run.
+     */
+    public record Status(boolean running, int targetRooms, int activeRooms, long completedMatches,
+                         long failedLaunches, int botsPerRoom, MultiplayerPlayer.BotSkill skill) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.gamebackend.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Backend nodes that share the room space. {@link RoomOwnership} hashes room codes over
+ * {@link #nodes()}, so every node must see the same list; implementations that change it at
+ * runtime should return a new list instance on every change so the ring gets rebuilt.
+ */
+public interface ClusterMembership {
+
+    /**
+     * This process.
+     */
+    Node self();
+
+    /**
+     * All nodes currently serving rooms, self included.
+     */
+    List<Node> nodes();
+
+    /**
+     * A backend node; baseUrl is where clients are sent for the rooms it owns.
+     */
+    record Node(String id, String baseUrl) implements Serializable {
+    }
+}
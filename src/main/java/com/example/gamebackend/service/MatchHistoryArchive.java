@@ -0,0 +1,195 @@
+package com.example.gamebackend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.config.AppProperties;
+import com.mongodb.MongoClientSettings;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only store for archived room snapshots.
+ * Each snapshot is encoded as BSON, deflated and written as one frame
+ * ([raw length][compressed length][bytes]) at the end of the current segment file;
+ * a new segment is started once the current one reaches app.multiplayer.archive.segment-max-bytes.
+ * Frames are never rewritten, so a {@link Location} stays valid forever.
+ */
+@Component
+public class MatchHistoryArchive {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bson.z";
+    private static final int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final DocumentCodec CODEC = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private FileChannel channel;
+    private int segmentIndex;
+    private long segmentSize;
+
+    public MatchHistoryArchive(AppProperties appProperties) {
+        AppProperties.Archive archive = appProperties.getMultiplayer().getArchive();
+        this.directory = Paths.get(archive.getDirectory());
+        this.segmentMaxBytes = archive.getSegmentMaxBytes();
+    }
+
+    /**
+     * Reopens the newest segment so appends continue where the previous instance stopped.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentIndex = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .mapToInt(name -> Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .max()
+                    .orElse(0);
+        }
+        openSegment();
+    }
+
+    /**
+     * Appends a snapshot and returns where it was written. Call {@link #sync()} before
+     * publishing the location anywhere else.
+     */
+    public synchronized Location append(Document snapshot) throws IOException {
+        RawBsonDocument bson = new RawBsonDocument(snapshot, CODEC);
+        ByteBuffer raw = bson.getByteBuffer().asNIO();
+        byte[] rawBytes = new byte[raw.remaining()];
+        raw.get(rawBytes);
+        byte[] compressed = deflate(rawBytes);
+
+        int frameLength = FRAME_HEADER_BYTES + compressed.length;
+        if (segmentSize > 0 && segmentSize + frameLength > segmentMaxBytes) {
+            channel.force(false);
+            channel.close();
+            segmentIndex++;
+            openSegment();
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(frameLength)
+                .putInt(rawBytes.length)
+                .putInt(compressed.length)
+                .put(compressed)
+                .flip();
+        long offset = segmentSize;
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        segmentSize += frameLength;
+        return new Location(segmentName(segmentIndex), offset, frameLength);
+    }
+
+    /**
+     * Forces appended frames to disk.
+     */
+    public synchronized void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Reads back the snapshot stored at the given location.
+     */
+    public Document read(Location location) {
+        try (FileChannel segment = FileChannel.open(directory.resolve(location.segment()), StandardOpenOption.READ)) {
+            ByteBuffer frame = ByteBuffer.allocate(location.length());
+            while (frame.hasRemaining()) {
+                if (segment.read(frame, location.offset() + frame.position()) < 0) {
+                    throw new IOException("Truncated archive frame in " + location.segment());
+                }
+            }
+            frame.flip();
+            int rawLength = frame.getInt();
+            byte[] compressed = new byte[frame.getInt()];
+            frame.get(compressed);
+            return new RawBsonDocument(inflate(compressed, rawLength)).decode(CODEC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(directory.resolve(segmentName(segmentIndex)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+    private static String segmentName(int index) {
+        return String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(output, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IOException("Corrupted archive frame");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted archive frame", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Position of one snapshot frame inside the archive.
+     */
+    public record Location(String segment, long offset, int length) {
+    }
+}
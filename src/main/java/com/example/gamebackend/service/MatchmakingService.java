@@ -0,0 +1,225 @@
+package com.example.gamebackend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+/**
+ * Quick-match queue. Enqueueing only appends a ticket to a lock-free queue (one per difficulty
+ * and operation mix), so it stays cheap under heavy arrival bursts. A single matcher drains the
+ * queues on a short tick, forms full rooms as soon as enough players wait, and after
+ * app.multiplayer.matchmaking.bot-fill-after-ms fills the remaining seats with bots.
+ * Matched rooms start right away; players learn their room code by polling their ticket.
+ */
+@Service
+public class MatchmakingService {
+
+    private static final Logger LOGGER = Logger.getLogger(MatchmakingService.class.getName());
+    private static final long TICKET_RETENTION_MS = 60_000L;
+
+    private final MultiplayerRoomService roomService;
+    private final AppProperties.Matchmaking matchmakingProperties;
+    private final ConcurrentMap<QuestionBank.Key, Queue<Ticket>> arrivals = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Ticket> ticketsByPlayer = new ConcurrentHashMap<>();
+    // Matcher-owned state: only touched from the scheduled tick
+    private final Map<QuestionBank.Key, Deque<Ticket>> waiting = new HashMap<>();
+    private final Deque<Ticket> settled = new ArrayDeque<>();
+
+    public MatchmakingService(MultiplayerRoomService roomService, AppProperties appProperties) {
+        this.roomService = roomService;
+        this.matchmakingProperties = appProperties.getMultiplayer().getMatchmaking();
+    }
+
+    /**
+     * Puts the player in the queue; enqueueing again while still waiting returns the same ticket.
+     */
+    public TicketStatus enqueue(String playerId, String username,
+                                MultiplayerRoom.Difficulty difficulty, String operations) {
+        QuestionBank.Key key = new QuestionBank.Key(difficulty, operations);
+        Ticket ticket = new Ticket(playerId, username, key);
+        Ticket current = ticketsByPlayer.compute(playerId, (id, existing) ->
+                existing != null && existing.isOpen() ? existing : ticket);
+        if (current == ticket) {
+            arrivals.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).offer(ticket);
+        }
+        return current.status();
+    }
+
+    public TicketStatus getStatus(String playerId) {
+        Ticket ticket = ticketsByPlayer.get(playerId);
+        if (ticket == null) {
+            throw new IllegalArgumentException("The player is not in the matchmaking queue");
+        }
+        return ticket.status();
+    }
+
+    public TicketStatus cancel(String playerId) {
+        Ticket ticket = ticketsByPlayer.get(playerId);
+        if (ticket == null) {
+            throw new IllegalArgumentException("The player is not in the matchmaking queue");
+        }
+        if (!ticket.state.compareAndSet(State.WAITING, State.CANCELLED)
+                && ticket.state.get() != State.CANCELLED) {
+            throw new IllegalStateException("The player was already matched");
+        }
+        ticketsByPlayer.remove(playerId, ticket);
+        return ticket.status();
+    }
+
+    @Scheduled(fixedDelayString = "${app.multiplayer.matchmaking.tick-ms:500}")
+    public void matchPlayers() {
+        long now = System.currentTimeMillis();
+        int capacity = roomService.getRoomCapacity();
+        arrivals.forEach((key, queue) -> {
+            Deque<Ticket> pending = waiting.computeIfAbsent(key, k -> new ArrayDeque<>());
+            for (Ticket ticket = queue.poll(); ticket != null; ticket = queue.poll()) {
+                pending.addLast(ticket);
+            }
+            pending.removeIf(ticket -> ticket.state.get() != State.WAITING);
+
+            while (pending.size() >= capacity) {
+                formRoom(key, takeGroup(pending, capacity), capacity);
+            }
+            Ticket oldest = pending.peekFirst();
+            if (oldest != null && now - oldest.enqueuedAt >= matchmakingProperties.getBotFillAfterMs()) {
+                formRoom(key, takeGroup(pending, pending.size()), capacity);
+            }
+        });
+        expireSettledTickets(now);
+    }
+
+    private List<Ticket> takeGroup(Deque<Ticket> pending, int size) {
+        List<Ticket> group = new ArrayList<>(size);
+        while (group.size() < size && !pending.isEmpty()) {
+            Ticket ticket = pending.pollFirst();
+            // A cancel may still win the race here; such tickets simply drop out of the group
+            if (ticket.state.compareAndSet(State.WAITING, State.MATCHING)) {
+                group.add(ticket);
+            }
+        }
+        return group;
+    }
+
+    /**
+     * Creates the room with the first player as host, seats the rest, fills up with bots and starts it.
+     * If any step fails the host's ticket fails, a room already created is closed again so it does not
+     * keep the host's slot, and the other players wait again.
+     */
+    private void formRoom(QuestionBank.Key key, List<Ticket> group, int capacity) {
+        if (group.isEmpty()) {
+            return;
+        }
+        Ticket host = group.get(0);
+        MultiplayerRoom room = null;
+        try {
+            room = roomService.createRoom(host.playerId, host.username, key.difficulty(), key.operations(),
+                    capacity - group.size(), MultiplayerPlayer.BotSkill.AVERAGE);
+            for (Ticket ticket : group.subList(1, group.size())) {
+                roomService.joinRoom(room.getRoomCode(), ticket.playerId, ticket.username);
+            }
+            roomService.startGame(room.getRoomCode(), host.playerId);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Quick match could not open a room for " + host.playerId, e);
+            if (room != null) {
+                abandon(room);
+            }
+            host.settle(State.FAILED, null, e.getMessage());
+            settled.addLast(host);
+            Deque<Ticket> pending = waiting.get(key);
+            for (int i = group.size() - 1; i >= 1; i--) {
+                Ticket ticket = group.get(i);
+                ticket.state.set(State.WAITING);
+                pending.addFirst(ticket);
+            }
+            return;
+        }
+        for (Ticket ticket : group) {
+            ticket.settle(State.MATCHED, room.getRoomCode(), null);
+            settled.addLast(ticket);
+        }
+    }
+
+    private void abandon(MultiplayerRoom room) {
+        try {
+            roomService.abandonRoom(room.getRoomCode());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not close failed quick-match room " + room.getRoomCode(), e);
+        }
+    }
+
+    private void expireSettledTickets(long now) {
+        for (Ticket ticket = settled.peekFirst();
+             ticket != null && now - ticket.settledAt >= TICKET_RETENTION_MS;
+             ticket = settled.peekFirst()) {
+            settled.pollFirst();
+            ticketsByPlayer.remove(ticket.playerId, ticket);
+        }
+    }
+
+    public enum State {
+        WAITING,
+        MATCHING,
+        MATCHED,
+        FAILED,
+        CANCELLED
+    }
+
+    private static final class Ticket {
+        private final String playerId;
+        private final String username;
+        private final QuestionBank.Key key;
+        private final long enqueuedAt = System.currentTimeMillis();
+        private final AtomicReference<State> state = new AtomicReference<>(State.WAITING);
+        private volatile String roomCode;
+        private volatile String message;
+        private volatile long settledAt;
+
+        private Ticket(String playerId, String username, QuestionBank.Key key) {
+            this.playerId = playerId;
+            this.username = username;
+            this.key = key;
+        }
+
+        private boolean isOpen() {
+            State current = state.get();
+            return current == State.WAITING || current == State.MATCHING;
+        }
+
+        private void settle(State outcome, String roomCode, String message) {
+            this.roomCode = roomCode;
+            this.message = message;
+            this.settledAt = System.currentTimeMillis();
+            this.state.set(outcome);
+        }
+
+        private TicketStatus status() {
+            return new TicketStatus(playerId, state.get(), roomCode, key.difficulty(), key.operations(),
+                    System.currentTimeMillis() - enqueuedAt, message);
+        }
+    }
+
+    /**
+     * What a queued player sees: once MATCHED, roomCode points to a room that is already playing.
+     */
+    public record TicketStatus(String playerId, State state, String roomCode,
+                               MultiplayerRoom.Difficulty difficulty, String operations,
+                               long waitedMs, String message) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.gamebackend.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bson.Document;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.model.MatchSummary;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.repository.MatchSummaryRepository;
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+
+/**
+ * Moves expired rooms out of multiplayer_rooms into the match history:
+ * FINISHED rooms after app.multiplayer.archive.finished-grace-ms, and rooms still
+ * WAITING after app.multiplayer.archive.waiting-grace-ms (abandoned before starting).
+ * The full snapshot goes to {@link MatchHistoryArchive}, a {@link MatchSummary} to
+ * match_history, and only then is the room deleted and its code released, so the live
+ * collection stays bounded by the matches in progress.
+ */
+@Component
+public class MultiplayerRoomArchiver {
+
+    private static final Logger LOGGER = Logger.getLogger(MultiplayerRoomArchiver.class.getName());
+    private static final int BATCH_SIZE = 200;
+
+    private final MultiplayerRoomRegistry roomRegistry;
+    private final MultiplayerRoomRepository roomRepository;
+    private final MultiplayerRoomWriter roomWriter;
+    private final RoomMailboxes roomMailboxes;
+    private final MultiplayerRoomService roomService;
+    private final MatchHistoryArchive archive;
+    private final MatchSummaryRepository summaryRepository;
+    private final AppProperties.Archive archiveProperties;
+    private final RoomOwnership roomOwnership;
+
+    public MultiplayerRoomArchiver(MultiplayerRoomRegistry roomRegistry,
+                                   MultiplayerRoomRepository roomRepository,
+                                   MultiplayerRoomWriter roomWriter,
+                                   RoomMailboxes roomMailboxes,
+                                   MultiplayerRoomService roomService,
+                                   MatchHistoryArchive archive,
+                                   MatchSummaryRepository summaryRepository,
+                                   AppProperties appProperties,
+                                   RoomOwnership roomOwnership) {
+        this.roomRegistry = roomRegistry;
+        this.roomRepository = roomRepository;
+        this.roomWriter = roomWriter;
+        this.roomMailboxes = roomMailboxes;
+        this.roomService = roomService;
+        this.archive = archive;
+        this.summaryRepository = summaryRepository;
+        this.archiveProperties = appProperties.getMultiplayer().getArchive();
+        this.roomOwnership = roomOwnership;
+    }
+
+    @Scheduled(fixedDelayString = "${app.multiplayer.archive.interval-ms:60000}")
+    public void archiveExpiredRooms() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime finishedCutoff = now.minusNanos(archiveProperties.getFinishedGraceMs() * 1_000_000L);
+        LocalDateTime waitingCutoff = now.minusNanos(archiveProperties.getWaitingGraceMs() * 1_000_000L);
+        int archived = 0;
+
+        // Live rooms: snapshot inside the mailbox so the archived state is consistent
+        List<Candidate> batch = new ArrayList<>();
+        for (MultiplayerRoom room : roomRegistry.liveRooms()) {
+            if (!isExpired(room, finishedCutoff, waitingCutoff)) {
+                continue;
+            }
+            Candidate candidate = roomMailboxes.call(room.getRoomCode(), () ->
+                    roomRegistry.findLive(room.getRoomCode()) == room && isExpired(room, finishedCutoff, waitingCutoff)
+                            ? new Candidate(room, room.getVersion(), roomWriter.toDocument(room), MatchSummary.of(room))
+                            : null);
+            if (candidate != null) {
+                batch.add(candidate);
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                archived += archive(batch);
+                batch.clear();
+            }
+        }
+        archived += archive(batch);
+
+        // Finished rooms only stored in MongoDB (e.g. finished before a restart); nobody mutates them.
+        // Keyset over _id: archived rooms are deleted as we go, which would shift numbered pages
+        String afterRoomCode = "";
+        while (true) {
+            List<MultiplayerRoom> stored = roomRepository.findByStatusAndFinishedAtBeforeAndRoomCodeGreaterThan(
+                    MultiplayerRoom.RoomStatus.FINISHED, finishedCutoff, afterRoomCode,
+                    PageRequest.of(0, BATCH_SIZE, Sort.by("roomCode")));
+            List<Candidate> storedBatch = stored.stream()
+                    .filter(room -> roomOwnership.isLocal(room.getRoomCode()))
+                    .filter(room -> !roomRegistry.contains(room.getRoomCode()))
+                    .map(room -> new Candidate(room, room.getVersion(), roomWriter.toDocument(room), MatchSummary.of(room)))
+                    .toList();
+            archived += archive(storedBatch);
+            if (stored.size() < BATCH_SIZE) {
+                break;
+            }
+            afterRoomCode = stored.get(stored.size() - 1).getRoomCode();
+        }
+
+        if (archived > 0) {
+            LOGGER.info("Archived expired multiplayer rooms: " + archived);
+        }
+    }
+
+    private int archive(List<Candidate> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            for (Candidate candidate : batch) {
+                MatchHistoryArchive.Location location = archive.append(candidate.snapshot());
+                candidate.summary().setSegment(location.segment());
+                candidate.summary().setOffset(location.offset());
+                candidate.summary().setLength(location.length());
+            }
+            archive.sync();
+        } catch (IOException e) {
+            // Rooms stay in place and are retried on the next run
+            LOGGER.log(Level.WARNING, "Failed to append to the match history archive", e);
+            return 0;
+        }
+        summaryRepository.saveAll(batch.stream().map(Candidate::summary).toList());
+
+        int discarded = 0;
+        for (Candidate candidate : batch) {
+            if (roomService.discardArchivedRoom(candidate.room(), candidate.version())) {
+                discarded++;
+            }
+        }
+        return discarded;
+    }
+
+    private static boolean isExpired(MultiplayerRoom room, LocalDateTime finishedCutoff, LocalDateTime waitingCutoff) {
+        return switch (room.getStatus()) {
+            case FINISHED -> room.getFinishedAt() == null || room.getFinishedAt().isBefore(finishedCutoff);
+            case WAITING -> room.getCreatedAt() != null && room.getCreatedAt().isBefore(waitingCutoff);
+            default -> false;
+        };
+    }
+
+    private record Candidate(MultiplayerRoom room, long version, Document snapshot, MatchSummary summary) {
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.gamebackend.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.model.MatchSummary;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.model.MultiplayerRoom.RoomStatus;
+import com.example.gamebackend.model.RoomLogEntry;
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+import com.example.gamebackend.repository.RoomLogRepository;
+
+/**
+ * Registry Pattern: keeps live multiplayer rooms in memory keyed by room code.
+ * While a room is WAITING or PLAYING the in-memory instance is the source of truth;
+ * MongoDB only receives write-behind snapshots and event-log entries from
+ * {@link MultiplayerRoomWriter}; a room loaded back replays the entries newer than its snapshot.
+ * Rooms are also indexed by status, and active rooms are counted per host and node-wide so that
+ * creation checks stay O(1) regardless of how many rooms exist.
+ */
+@Component
+public class MultiplayerRoomRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(MultiplayerRoomRegistry.class.getName());
+
+    private final MultiplayerRoomRepository roomRepository;
+    private final RoomLogRepository roomLogRepository;
+    private final RoomOwnership roomOwnership;
+    private final RoomMailboxes roomMailboxes;
+    private final RoomCodeAllocator roomCodeAllocator;
+    private final ConcurrentMap<String, MultiplayerRoom> rooms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RoomStatus> indexedStatus = new ConcurrentHashMap<>();
+    private final Map<RoomStatus, Set<String>> statusIndex = createStatusIndex();
+    private final ConcurrentMap<String, Integer> activeRoomsByHost = new ConcurrentHashMap<>();
+    // Codes of closed rooms whose MongoDB delete is still queued: find() must not reload them
+    private final Set<String> tombstones = ConcurrentHashMap.newKeySet();
+    // Held host slots, i.e. active rooms including ones still being created
+    private final AtomicInteger activeRooms = new AtomicInteger();
+
+    public MultiplayerRoomRegistry(MultiplayerRoomRepository roomRepository,
+                                   RoomLogRepository roomLogRepository,
+                                   RoomOwnership roomOwnership,
+                                   RoomMailboxes roomMailboxes,
+                                   RoomCodeAllocator roomCodeAllocator) {
+        this.roomRepository = roomRepository;
+        this.roomLogRepository = roomLogRepository;
+        this.roomOwnership = roomOwnership;
+        this.roomMailboxes = roomMailboxes;
+        this.roomCodeAllocator = roomCodeAllocator;
+    }
+
+    /**
+     * Reloads rooms that were still active when the previous instance stopped, limited to the rooms
+     * this node owns.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void loadActiveRooms() {
+        roomRepository.findByStatusIn(EnumSet.of(RoomStatus.WAITING, RoomStatus.PLAYING)).stream()
+                .filter(room -> roomOwnership.isLocal(room.getRoomCode()))
+                .forEach(room -> {
+                    roomMailboxes.open(room.getRoomCode());
+                    if (rooms.putIfAbsent(room.getRoomCode(), hydrate(room)) == null) {
+                        index(room);
+                        activeRoomsByHost.merge(room.getHostPlayerId(), 1, Integer::sum);
+                        activeRooms.incrementAndGet();
+                    }
+                });
+    }
+
+    /**
+     * Returns the live room for the code, falling back to MongoDB on a miss.
+     * Rooms loaded from MongoDB are registered unless they already finished.
+     */
+    public MultiplayerRoom find(String roomCode) {
+        MultiplayerRoom room = rooms.get(roomCode);
+        if (room != null || tombstones.contains(roomCode)) {
+            return room;
+        }
+        MultiplayerRoom stored = roomRepository.findById(Objects.requireNonNull(roomCode)).orElse(null);
+        if (stored == null) {
+            return null;
+        }
+        hydrate(stored);
+        if (stored.getStatus() == RoomStatus.FINISHED) {
+            return stored;
+        }
+        roomMailboxes.open(roomCode);
+        MultiplayerRoom existing = rooms.putIfAbsent(roomCode, stored);
+        if (existing != null) {
+            return existing;
+        }
+        index(stored);
+        activeRoomsByHost.merge(stored.getHostPlayerId(), 1, Integer::sum);
+        activeRooms.incrementAndGet();
+        // May have been created by a previous owner: keep the allocator from reissuing the code
+        roomCodeAllocator.markInUse(roomCode);
+        return stored;
+    }
+
+    /**
+     * Returns the room only if it is currently held in memory; never touches MongoDB.
+     */
+    public MultiplayerRoom findLive(String roomCode) {
+        return rooms.get(roomCode);
+    }
+
+    /**
+     * Reserves an active-room slot for the host, failing when the host or the node is at capacity.
+     * The slot is released when the room finishes or is unregistered.
+     */
+    public void reserveHostSlot(String hostPlayerId, int maxRoomsPerHost, int maxActiveRooms) {
+        // Claimed with a CAS so concurrent creations cannot overshoot the node-wide limit
+        int active;
+        do {
+            active = activeRooms.get();
+            if (active >= maxActiveRooms) {
+                throw new IllegalStateException("The server cannot host more rooms right now");
+            }
+        } while (!activeRooms.compareAndSet(active, active + 1));
+        try {
+            activeRoomsByHost.compute(hostPlayerId, (host, count) -> {
+                int current = count == null ? 0 : count;
+                if (current >= maxRoomsPerHost) {
+                    throw new IllegalStateException("You already host the maximum number of active rooms");
+                }
+                return current + 1;
+            });
+        } catch (IllegalStateException e) {
+            activeRooms.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public void releaseHostSlot(String hostPlayerId) {
+        boolean[] released = new boolean[1];
+        activeRoomsByHost.computeIfPresent(hostPlayerId, (host, count) -> {
+            released[0] = true;
+            return count <= 1 ? null : count - 1;
+        });
+        if (released[0]) {
+            activeRooms.decrementAndGet();
+        }
+    }
+
+    /**
+     * Registers a room whose host slot was already reserved.
+     */
+    public void register(MultiplayerRoom room) {
+        rooms.put(room.getRoomCode(), room);
+        index(room);
+        // The code was reissued: the new room's writes supersede the queued delete
+        tombstones.remove(room.getRoomCode());
+    }
+
+    /**
+     * Hides the stored copy of a room from {@link #find(String)} until its delete reaches MongoDB,
+     * so a request racing the write-behind cannot bring a closed room back to life.
+     */
+    public void markDeleting(String roomCode) {
+        tombstones.add(roomCode);
+    }
+
+    public void deleted(String roomCode) {
+        tombstones.remove(roomCode);
+    }
+
+    /**
+     * Moves the room to the index of its current status; call after every status change.
+     */
+    public void statusChanged(MultiplayerRoom room) {
+        RoomStatus previous = indexedStatus.get(room.getRoomCode());
+        index(room);
+        if (isActive(previous) && !isActive(room.getStatus())) {
+            releaseHostSlot(room.getHostPlayerId());
+        }
+    }
+
+    public void unregister(String roomCode) {
+        MultiplayerRoom room = rooms.remove(roomCode);
+        RoomStatus status = indexedStatus.remove(roomCode);
+        if (status != null) {
+            statusIndex.get(status).remove(roomCode);
+        }
+        if (room != null && isActive(status)) {
+            releaseHostSlot(room.getHostPlayerId());
+        }
+    }
+
+    public boolean contains(String roomCode) {
+        return rooms.containsKey(roomCode);
+    }
+
+    public Collection<MultiplayerRoom> liveRooms() {
+        return rooms.values();
+    }
+
+    /**
+     * Returns the live rooms currently indexed under the given status.
+     */
+    public List<MultiplayerRoom> findByStatus(RoomStatus status) {
+        return statusIndex.get(status).stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public int countByStatus(RoomStatus status) {
+        return statusIndex.get(status).size();
+    }
+
+    public int countActive() {
+        return countByStatus(RoomStatus.WAITING) + countByStatus(RoomStatus.PLAYING);
+    }
+
+    private void index(MultiplayerRoom room) {
+        RoomStatus status = room.getStatus();
+        RoomStatus previous = indexedStatus.put(room.getRoomCode(), status);
+        if (previous != null && previous != status) {
+            statusIndex.get(previous).remove(room.getRoomCode());
+        }
+        statusIndex.get(status).add(room.getRoomCode());
+    }
+
+    private static boolean isActive(RoomStatus status) {
+        return status == RoomStatus.WAITING || status == RoomStatus.PLAYING;
+    }
+
+    private static Map<RoomStatus, Set<String>> createStatusIndex() {
+        Map<RoomStatus, Set<String>> index = new EnumMap<>(RoomStatus.class);
+        for (RoomStatus status : RoomStatus.values()) {
+            index.put(status, ConcurrentHashMap.newKeySet());
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private MultiplayerRoom hydrate(MultiplayerRoom room) {
+        // Mongo mapping writes the list fields directly; rebuild them to restore back references
+        room.setPlayers(room.getPlayers());
+        room.setQuestions(room.getQuestions());
+        room.markSnapshotted();
+        replayLog(room);
+        room.markLoaded();
+        return room;
+    }
+
+    /**
+     * Projects the log entries recorded after the stored snapshot onto the room. Replay stops at
+     * the first missing sequence: the writer re-snapshots after a failed append, so a gap only
+     * remains if that snapshot was lost too.
+     */
+    private void replayLog(MultiplayerRoom room) {
+        List<RoomLogEntry> entries = roomLogRepository.findByRoomIdAndSequenceGreaterThanOrderBySequenceAsc(
+                MatchSummary.idOf(room), room.getLogSequence());
+        for (RoomLogEntry entry : entries) {
+            if (entry.getSequence() != room.getLogSequence() + 1) {
+                LOGGER.warning("Event log of room " + room.getRoomCode() + " has a gap after sequence "
+                        + room.getLogSequence() + "; replay stopped there");
+                return;
+            }
+            entry.applyTo(room);
+        }
+    }
+}
@@ -1,85 +1,295 @@
 package com.example.gamebackend.service;
 
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
+import java.util.function.Function;
 
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.dto.RoomDeltaDTO;
+import com.example.gamebackend.dto.RoomSummaryDTO;
+import com.example.gamebackend.event.MultiplayerRoomEvent;
+import com.example.gamebackend.model.MatchSummary;
 import com.example.gamebackend.model.MultiplayerPlayer;
 import com.example.gamebackend.model.MultiplayerQuestion;
 import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.model.RoomLogEntry;
+import com.example.gamebackend.repository.MatchSummaryRepository;
 import com.example.gamebackend.repository.MultiplayerRoomRepository;
 
 /**
  * MultiplayerRoomService implements several patterns:
  * - Singleton via Spring's @Service lifecycle.
  * - Factory Method to create rooms and math questions.
- * - Repository Pattern via Spring Data MongoDB repositories persisted in MongoDB.
+ * - Registry Pattern: live rooms are mutated in memory through {@link MultiplayerRoomRegistry}.
+ * - Actor Pattern: commands for one room run serially in its {@link RoomMailboxes} mailbox.
+ * - Write-behind persistence to MongoDB via {@link MultiplayerRoomWriter} at round boundaries.
+ * - Observer Pattern: every visible state change publishes a {@link MultiplayerRoomEvent}.
+ * - Server-driven question deadlines on the shared {@link RoomTimers} wheel.
  */
 @Service
 public class MultiplayerRoomService {
 
     private final MultiplayerRoomRepository roomRepository;
-    private final Random random = new Random();
-    private static final int TOTAL_QUESTIONS = 5;
+    private final MultiplayerRoomRegistry roomRegistry;
+    private final MultiplayerRoomWriter roomWriter;
+    private final RoomMailboxes roomMailboxes;
+    private final AppProperties.Multiplayer multiplayerProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QuestionBank questionBank;
+    private final RoomCodeAllocator roomCodeAllocator;
+    private final RoomTimers roomTimers;
+    private final MatchSummaryRepository summaryRepository;
+    private final RoomOwnership roomOwnership;
+    private final MatchHistoryArchive matchArchive;
+    private final MongoConverter mongoConverter;
+    // Ring generation the last handoff sweep ran against (scheduler thread only)
+    private long handedOffGeneration = -1L;
     private static final int POINTS_PER_CORRECT = 10;
+    private static final int DEFAULT_BOTS = 1;
+    private static final int RANKING_SIZE = 5;
+    private static final int HISTORY_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
-    public MultiplayerRoomService(MultiplayerRoomRepository roomRepository) {
+    public MultiplayerRoomService(MultiplayerRoomRepository roomRepository,
+                                  MultiplayerRoomRegistry roomRegistry,
+                                  MultiplayerRoomWriter roomWriter,
+                                  RoomMailboxes roomMailboxes,
+                                  AppProperties appProperties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  QuestionBank questionBank,
+                                  RoomCodeAllocator roomCodeAllocator,
+                                  RoomTimers roomTimers,
+                                  MatchSummaryRepository summaryRepository,
+                                  RoomOwnership roomOwnership,
+                                  MatchHistoryArchive matchArchive,
+                                  MongoConverter mongoConverter) {
         this.roomRepository = roomRepository;
+        this.roomRegistry = roomRegistry;
+        this.roomWriter = roomWriter;
+        this.roomMailboxes = roomMailboxes;
+        this.multiplayerProperties = appProperties.getMultiplayer();
+        this.eventPublisher = eventPublisher;
+        this.questionBank = questionBank;
+        this.roomCodeAllocator = roomCodeAllocator;
+        this.roomTimers = roomTimers;
+        this.summaryRepository = summaryRepository;
+        this.roomOwnership = roomOwnership;
+        this.matchArchive = matchArchive;
+        this.mongoConverter = mongoConverter;
+    }
+
+    /**
+     * Re-arms the question deadlines and bot answers of the PLAYING rooms reloaded at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void resumeQuestionDeadlines() {
+        for (MultiplayerRoom room : roomRegistry.findByStatus(MultiplayerRoom.RoomStatus.PLAYING)) {
+            resumeRoom(room);
+        }
+    }
+
+    /**
+     * Re-arms the question deadline and bot answers of a PLAYING room loaded from MongoDB. Safe to
+     * repeat: the deadline replaces the armed one and bots that already answered are skipped.
+     */
+    private void resumeRoom(MultiplayerRoom room) {
+        roomMailboxes.execute(room.getRoomCode(), () -> {
+            if (roomRegistry.findLive(room.getRoomCode()) == room
+                    && room.getStatus() == MultiplayerRoom.RoomStatus.PLAYING) {
+                if (room.getQuestionDeadline() == 0L) {
+                    armQuestionDeadline(room);
+                } else {
+                    scheduleQuestionDeadline(room,
+                            Math.max(0L, room.getQuestionDeadline() - System.currentTimeMillis()));
+                }
+                scheduleBotAnswers(room);
+            }
+        });
+    }
+
+    /**
+     * After a membership change, hands the live rooms this node no longer owns to their new owner:
+     * each one is snapshotted, dropped from memory and its subscribers are told to reconnect, so two
+     * nodes never write the same room and clients are not bounced between them.
+     */
+    @Scheduled(fixedDelayString = "${app.cluster.handoff-check-ms:5000}")
+    public void handOffForeignRooms() {
+        long generation = roomOwnership.generation();
+        if (generation == handedOffGeneration) {
+            return;
+        }
+        handedOffGeneration = generation;
+        for (MultiplayerRoom room : List.copyOf(roomRegistry.liveRooms())) {
+            if (!roomOwnership.isLocal(room.getRoomCode())) {
+                roomMailboxes.execute(room.getRoomCode(), () -> handOff(room));
+            }
+        }
+    }
+
+    /**
+     * Runs inside the room's mailbox. The code stays allocated: the room still exists in MongoDB.
+     */
+    private void handOff(MultiplayerRoom room) {
+        String code = room.getRoomCode();
+        if (roomRegistry.findLive(code) != room || roomOwnership.isLocal(code)) {
+            return;
+        }
+        roomTimers.cancelQuestionDeadline(code);
+        // Queued behind the room's pending writes, so the new owner loads the latest state
+        roomWriter.scheduleSave(room);
+        roomRegistry.unregister(code);
+        roomMailboxes.release(code);
+        publish(MultiplayerRoomEvent.Type.ROOM_MOVED, room);
     }
 
     /**
      * Factory Method: creates a new room with a unique code.
-     * WARNING: Only one active room is allowed at a time.
+     * Each host may own up to app.multiplayer.max-rooms-per-host active rooms.
      */
     public MultiplayerRoom createRoom(String hostPlayerId, String hostUsername) {
-        List<MultiplayerRoom> activeRooms = roomRepository.findAll().stream()
-                .filter(r -> r.getStatus() != MultiplayerRoom.RoomStatus.FINISHED)
-                .toList();
-        
-        if (!activeRooms.isEmpty()) {
-            MultiplayerRoom existingRoom = activeRooms.get(0);
-            throw new IllegalStateException("Only one active room is allowed. Join room: " + existingRoom.getRoomCode());
+        return createRoom(hostPlayerId, hostUsername, MultiplayerRoom.Difficulty.NORMAL, MultiplayerRoom.DEFAULT_OPERATIONS);
+    }
+
+    /**
+     * Factory Method: creates a room whose questions use the given difficulty and operation mix.
+     */
+    public MultiplayerRoom createRoom(String hostPlayerId, String hostUsername,
+                                      MultiplayerRoom.Difficulty difficulty, String operations) {
+        return createRoom(hostPlayerId, hostUsername, difficulty, operations,
+                DEFAULT_BOTS, MultiplayerPlayer.BotSkill.AVERAGE);
+    }
+
+    /**
+     * Factory Method: creates a room with the given number of bots of one skill profile.
+     */
+    public MultiplayerRoom createRoom(String hostPlayerId, String hostUsername,
+                                      MultiplayerRoom.Difficulty difficulty, String operations,
+                                      int botCount, MultiplayerPlayer.BotSkill botSkill) {
+        return createRoom(hostPlayerId, hostUsername, difficulty, operations, botCount, botSkill,
+                MultiplayerRoom.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Factory Method: creates a room for up to {@code capacity} players. Rooms above the default
+     * capacity (large rooms, e.g. classrooms) are limited by app.multiplayer.max-room-capacity.
+     */
+    public MultiplayerRoom createRoom(String hostPlayerId, String hostUsername,
+                                      MultiplayerRoom.Difficulty difficulty, String operations,
+                                      int botCount, MultiplayerPlayer.BotSkill botSkill, int capacity) {
+        return openRoom(new MultiplayerPlayer(hostPlayerId, hostUsername),
+                difficulty, operations, botCount, botSkill, capacity);
+    }
+
+    /**
+     * Factory Method: creates a room where every player, host included, is a bot (load generation).
+     */
+    public MultiplayerRoom createBotRoom(String hostPlayerId, int botCount, MultiplayerPlayer.BotSkill botSkill) {
+        MultiplayerPlayer host = new MultiplayerPlayer.Builder(hostPlayerId, "LoadBot")
+                .bot(true)
+                .skill(botSkill)
+                .build();
+        return openRoom(host, MultiplayerRoom.Difficulty.NORMAL, MultiplayerRoom.DEFAULT_OPERATIONS,
+                botCount, botSkill, Math.max(MultiplayerRoom.DEFAULT_CAPACITY, botCount + 1));
+    }
+
+    private MultiplayerRoom openRoom(MultiplayerPlayer host, MultiplayerRoom.Difficulty difficulty,
+                                     String operations, int botCount, MultiplayerPlayer.BotSkill botSkill,
+                                     int capacity) {
+        if (capacity < 2 || capacity > multiplayerProperties.getMaxRoomCapacity()) {
+            throw new IllegalArgumentException("Room capacity must be between 2 and "
+                    + multiplayerProperties.getMaxRoomCapacity());
+        }
+        if (botCount < 0 || botCount > capacity - 1) {
+            throw new IllegalArgumentException("A room holds between 0 and " + (capacity - 1) + " bots");
+        }
+        // Validates and normalizes the operation mix before any slot is reserved
+        QuestionBank.Key questionKey = new QuestionBank.Key(difficulty, operations);
+        String hostPlayerId = host.getId();
+        roomRegistry.reserveHostSlot(hostPlayerId,
+                multiplayerProperties.getMaxRoomsPerHost(),
+                multiplayerProperties.getMaxActiveRooms());
+        
+        String roomCode;
+        try {
+            roomCode = roomCodeAllocator.allocate();
+        } catch (RuntimeException e) {
+            roomRegistry.releaseHostSlot(hostPlayerId);
+            throw e;
         }
-        
-        String roomCode = generateRoomCode();
         
         MultiplayerRoom room = new MultiplayerRoom(roomCode, hostPlayerId);
-        
-        MultiplayerPlayer host = new MultiplayerPlayer(hostPlayerId, hostUsername);
+        room.setCapacity(capacity);
+        room.setDifficulty(questionKey.difficulty());
+        room.setOperations(questionKey.operations());
         room.addPlayer(host);
         
-        MultiplayerPlayer bot = new MultiplayerPlayer.Builder("bot-" + roomCode, "ChatBot")
-                .bot(true)
-                .build();
-        room.addPlayer(bot);
+        for (int seat = 0; seat < botCount; seat++) {
+            MultiplayerPlayer bot = new MultiplayerPlayer.Builder(
+                    seat == 0 ? "bot-" + roomCode : "bot-" + roomCode + "-" + seat,
+                    seat == 0 ? "ChatBot" : "ChatBot " + (seat + 1))
+                    .bot(true)
+                    .skill(botSkill)
+                    .build();
+            room.addPlayer(bot);
+        }
         
-        return hydrateRoom(roomRepository.save(room));
+        roomMailboxes.open(roomCode);
+        return roomMailboxes.call(roomCode, () -> {
+            room.bumpVersion();
+            room.markRosterChanged();
+            room.markProgressChanged();
+            room.getPlayers().forEach(p -> p.markChanged(room.getVersion()));
+            roomRegistry.register(room);
+            roomWriter.append(room, RoomLogEntry.created(room));
+            roomWriter.scheduleSave(room);
+            return room;
+        });
     }
 
     /**
      * Allows a human player to join an existing room.
      */
     public MultiplayerRoom joinRoom(String roomCode, String playerId, String username) {
-        String normalizedCode = normalizeRoomCode(roomCode);
-        MultiplayerRoom room = roomRepository.findById(Objects.requireNonNull(normalizedCode))
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-        
-        if (room.getStatus() != MultiplayerRoom.RoomStatus.WAITING) {
-            throw new IllegalStateException("The room is already playing");
-        }
-        
-        if (room.getPlayers().size() >= 5) {
-            throw new IllegalStateException("The room is already full");
-        }
-        
-        MultiplayerPlayer player = new MultiplayerPlayer(playerId, username);
-        room.addPlayer(player);
+        MultiplayerRoom room = requireRoom(roomCode);
         
-        return hydrateRoom(roomRepository.save(room));
+        return roomMailboxes.call(room.getRoomCode(), () -> {
+            requireLive(room);
+            if (room.getStatus() != MultiplayerRoom.RoomStatus.WAITING) {
+                throw new IllegalStateException("The room is already playing");
+            }
+            
+            if (room.getPlayerCount() >= room.getCapacity()) {
+                throw new IllegalStateException("The room is already full");
+            }
+            
+            MultiplayerPlayer player = new MultiplayerPlayer(playerId, username);
+            room.addPlayer(player);
+            room.bumpVersion();
+            room.markRosterChanged();
+            player.markChanged(room.getVersion());
+            
+            roomWriter.append(room, RoomLogEntry.joined(player));
+            publish(MultiplayerRoomEvent.Type.PLAYER_JOINED, room);
+            return room;
+        });
     }
 
     /**
@@ -87,124 +297,260 @@ public class MultiplayerRoomService {
      * Only the host (admin) can start the game.
      */
     public MultiplayerRoom startGame(String roomCode, String playerId) {
-        String normalizedCode = normalizeRoomCode(roomCode);
-        MultiplayerRoom room = roomRepository.findById(Objects.requireNonNull(normalizedCode))
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+        MultiplayerRoom room = requireRoom(roomCode);
         
-        if (!room.getHostPlayerId().equals(playerId)) {
-            throw new IllegalStateException("Only the host can start the game");
-        }
-        
-        if (!room.canStart()) {
-            throw new IllegalStateException("The game cannot be started yet");
-        }
-        
-        List<MultiplayerQuestion> questions = generateQuestions(TOTAL_QUESTIONS);
-        room.setQuestions(questions);
-        room.setStatus(MultiplayerRoom.RoomStatus.PLAYING);
-        room.setStartedAt(java.time.LocalDateTime.now());
-        
-        return hydrateRoom(roomRepository.save(room));
+        return roomMailboxes.call(room.getRoomCode(), () -> {
+            requireLive(room);
+            if (!room.getHostPlayerId().equals(playerId)) {
+                throw new IllegalStateException("Only the host can start the game");
+            }
+            
+            if (!room.canStart()) {
+                throw new IllegalStateException("The game cannot be started yet");
+            }
+            
+            QuestionBank.QuestionSet questionSet = questionBank.take(QuestionBank.Key.of(room));
+            room.setSeed(questionSet.seed());
+            room.assignQuestionSet(questionSet.questions());
+            room.setStatus(MultiplayerRoom.RoomStatus.PLAYING);
+            room.setStartedAt(java.time.LocalDateTime.now());
+            roomRegistry.statusChanged(room);
+            startQuestion(room);
+            room.bumpVersion();
+            room.markProgressChanged();
+            
+            roomWriter.append(room, RoomLogEntry.started(room));
+            // Status changes are snapshotted so status queries on MongoDB stay accurate
+            roomWriter.scheduleSave(room);
+            publish(MultiplayerRoomEvent.Type.GAME_STARTED, room);
+            return room;
+        });
     }
 
     /**
      * Processes a player answer and advances the question flow.
+     * Every answer is persisted as one small event-log entry.
      */
     public MultiplayerRoom submitAnswer(String roomCode, String playerId, int answer, long responseTime) {
-        String normalizedCode = normalizeRoomCode(roomCode);
-        MultiplayerRoom room = roomRepository.findById(Objects.requireNonNull(normalizedCode))
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-        
-        MultiplayerQuestion currentQuestion = room.getCurrentQuestion();
-        if (currentQuestion == null) {
-            throw new IllegalStateException("There is no active question");
+        return submitAnswer(roomCode, playerId, answer, responseTime, null, null);
+    }
+
+    /**
+     * Idempotent variant: a retry carrying an already seen requestId, or the index of a question the
+     * player already answered, returns the current room without applying the answer again. That room
+     * (or the delta from the caller's known version) already includes the original answer, so the
+     * receipts only record which request ids were applied.
+     */
+    public MultiplayerRoom submitAnswer(String roomCode, String playerId, int answer, long responseTime,
+                                        String requestId, Integer questionIndex) {
+        MultiplayerRoom room = requireRoom(roomCode);
+        
+        return roomMailboxes.call(room.getRoomCode(), () -> {
+            requireLive(room);
+            if (requestId != null && room.hasAnswerReceipt(playerId, requestId)) {
+                return room;
+            }
+
+            MultiplayerPlayer player = room.findPlayer(playerId);
+            if (player == null) {
+                throw new IllegalArgumentException("Player not found");
+            }
+            if (questionIndex != null && player.getAnsweredCount() > questionIndex) {
+                return room;
+            }
+
+            MultiplayerQuestion currentQuestion = room.getCurrentQuestion();
+            if (currentQuestion == null) {
+                throw new IllegalStateException("There is no active question");
+            }
+            if (questionIndex != null && questionIndex != room.getCurrentQuestionIndex()) {
+                throw new IllegalStateException("That question is no longer active");
+            }
+            if (player.getAnsweredCount() > room.getCurrentQuestionIndex()) {
+                throw new IllegalStateException("You already answered this question");
+            }
+
+            if (answer < 0 || answer > 999) {
+                throw new IllegalArgumentException("Answers must contain between 1 and 3 numeric digits");
+            }
+            
+            // Update per-player statistics based on the attempt
+            int points = currentQuestion.isCorrect(answer) ? POINTS_PER_CORRECT : 0;
+            player.recordAnswer(points, responseTime);
+            answerRecorded(room, player, points, responseTime);
+            if (requestId != null) {
+                room.recordAnswerReceipt(playerId, requestId);
+            }
+            return room;
+        });
+    }
+
+    /**
+     * Publishes one recorded answer, or closes the round once every player (bots included) answered.
+     */
+    private void answerRecorded(MultiplayerRoom room, MultiplayerPlayer player, int points, long responseTime) {
+        int questionIndex = room.getCurrentQuestionIndex();
+        if (room.allPlayersAnswered()) {
+            roomWriter.append(room, RoomLogEntry.answered(player, questionIndex, points, responseTime));
+            completeRound(room);
+        } else {
+            room.bumpVersion();
+            player.markChanged(room.getVersion());
+            roomWriter.append(room, RoomLogEntry.answered(player, questionIndex, points, responseTime));
+            publish(MultiplayerRoomEvent.Type.ANSWER_SUBMITTED, room);
         }
+    }
 
-        if (answer < 0 || answer > 999) {
-            throw new IllegalArgumentException("Answers must contain between 1 and 3 numeric digits");
+    /**
+     * Closes the current round: the room advances (or finishes, which is also snapshotted).
+     */
+    private void completeRound(MultiplayerRoom room) {
+        // Avanzar a la siguiente pregunta
+        room.nextQuestion();
+        
+        // Determine if the match already finished
+        if (room.isFinished()) {
+            room.setStatus(MultiplayerRoom.RoomStatus.FINISHED);
+            room.setFinishedAt(java.time.LocalDateTime.now());
+            room.setQuestionDeadline(0L);
+            roomTimers.cancelQuestionDeadline(room.getRoomCode());
+            roomRegistry.statusChanged(room);
+        } else {
+            startQuestion(room);
         }
+        room.bumpVersion();
+        room.markProgressChanged();
+        room.getPlayers().forEach(p -> p.markChanged(room.getVersion()));
         
-        // Locate the player inside the room roster
-        MultiplayerPlayer player = room.getPlayers().stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Player not found"));
-        
-        // Update per-player statistics based on the attempt
-        player.incrementAnsweredCount();
-        player.addResponseTime(responseTime);
-        
-        if (currentQuestion.isCorrect(answer)) {
-            player.addScore(POINTS_PER_CORRECT);
+        if (room.getStatus() == MultiplayerRoom.RoomStatus.FINISHED) {
+            roomWriter.append(room, RoomLogEntry.finished(room));
+            roomWriter.scheduleSave(room);
+        } else {
+            roomWriter.append(room, RoomLogEntry.advanced(room));
         }
-        
-        // Check whether all human players already answered
-        boolean allAnswered = room.getPlayers().stream()
-                .filter(p -> !p.isBot())
-                .allMatch(p -> p.getAnsweredCount() > room.getCurrentQuestionIndex());
-        
-        if (allAnswered) {
-            // Simulate bot participation so each round advances consistently
-            simulateBotAnswer(room);
-            
-            // Avanzar a la siguiente pregunta
-            room.nextQuestion();
-            
-            // Determine if the match already finished
-            if (room.isFinished()) {
-                room.setStatus(MultiplayerRoom.RoomStatus.FINISHED);
-                room.setFinishedAt(java.time.LocalDateTime.now());
+        publish(room.isFinished()
+                ? MultiplayerRoomEvent.Type.GAME_FINISHED
+                : MultiplayerRoomEvent.Type.QUESTION_ADVANCED, room);
+    }
+
+    /**
+     * Starts the countdown of the current question (app.multiplayer.question-timeout-ms).
+     */
+    private void armQuestionDeadline(MultiplayerRoom room) {
+        long timeoutMs = multiplayerProperties.getQuestionTimeoutMs();
+        room.setQuestionDeadline(System.currentTimeMillis() + timeoutMs);
+        scheduleQuestionDeadline(room, timeoutMs);
+    }
+
+    private void scheduleQuestionDeadline(MultiplayerRoom room, long delayMs) {
+        int questionIndex = room.getCurrentQuestionIndex();
+        // The wheel thread only enqueues; the expiry itself runs inside the room's mailbox
+        roomTimers.armQuestionDeadline(room.getRoomCode(), delayMs,
+                () -> roomMailboxes.execute(room.getRoomCode(), () -> expireQuestion(room, questionIndex)));
+    }
+
+    /**
+     * Arms the deadline of the current question and schedules every bot's answer to it.
+     */
+    private void startQuestion(MultiplayerRoom room) {
+        armQuestionDeadline(room);
+        scheduleBotAnswers(room);
+    }
+
+    /**
+     * Each bot draws its correctness and response time from its skill profile, seeded per room
+     * and question so a match replays identically, and answers on the shared timer when the delay
+     * elapses. Bots that would miss the deadline are scored as timeouts instead.
+     */
+    private void scheduleBotAnswers(MultiplayerRoom room) {
+        int questionIndex = room.getCurrentQuestionIndex();
+        SplittableRandom round = room.roundRandom();
+        for (MultiplayerPlayer bot : room.getPlayers()) {
+            if (!bot.isBot()) {
+                continue;
+            }
+            MultiplayerPlayer.BotSkill skill = bot.getBotSkill() != null
+                    ? bot.getBotSkill()
+                    : MultiplayerPlayer.BotSkill.AVERAGE;
+            SplittableRandom random = round.split();
+            boolean correct = skill.answersCorrectly(random);
+            long responseTime = skill.sampleResponseTime(random);
+            if (responseTime >= multiplayerProperties.getQuestionTimeoutMs()) {
+                continue;
             }
+            String botId = bot.getId();
+            roomTimers.schedule(responseTime, () -> roomMailboxes.execute(room.getRoomCode(),
+                    () -> botAnswer(room, botId, questionIndex, correct, responseTime)));
         }
-        
-        return hydrateRoom(roomRepository.save(room));
+    }
+
+    private void botAnswer(MultiplayerRoom room, String botId, int questionIndex, boolean correct, long responseTime) {
+        if (!isServedHere(room)
+                || room.getStatus() != MultiplayerRoom.RoomStatus.PLAYING
+                || room.getCurrentQuestionIndex() != questionIndex) {
+            return;
+        }
+        MultiplayerPlayer bot = room.findPlayer(botId);
+        if (bot == null || bot.getAnsweredCount() > questionIndex) {
+            return;
+        }
+        int points = correct ? POINTS_PER_CORRECT : 0;
+        bot.recordAnswer(points, responseTime);
+        answerRecorded(room, bot, points, responseTime);
     }
 
     /**
-     * Simulates a bot response with configurable accuracy.
+     * Deadline of a question reached: players who did not answer score a timeout and the round closes.
+     * Stale deadlines (room closed, finished or already past that question) are ignored.
      */
-    private void simulateBotAnswer(MultiplayerRoom room) {
-        MultiplayerQuestion currentQuestion = room.getCurrentQuestion();
-        if (currentQuestion == null) return;
-        
-        MultiplayerPlayer bot = room.getPlayers().stream()
-                .filter(MultiplayerPlayer::isBot)
-                .findFirst()
-                .orElse(null);
-        
-        if (bot == null) return;
-        
-        // Bot accuracy is set to roughly 80%
-        boolean isCorrect = random.nextDouble() > 0.2;
-        
-        // Tiempo de respuesta del bot: entre 2 y 5 segundos
-        long responseTime = 2000 + random.nextInt(3000);
-        
-        bot.incrementAnsweredCount();
-        bot.addResponseTime(responseTime);
-        
-        if (isCorrect) {
-            bot.addScore(POINTS_PER_CORRECT);
+    private void expireQuestion(MultiplayerRoom room, int questionIndex) {
+        if (!isServedHere(room)
+                || room.getStatus() != MultiplayerRoom.RoomStatus.PLAYING
+                || room.getCurrentQuestionIndex() != questionIndex) {
+            return;
         }
+        long timeoutMs = multiplayerProperties.getQuestionTimeoutMs();
+        room.getPlayers().stream()
+                .filter(p -> p.getAnsweredCount() <= questionIndex)
+                .forEach(p -> {
+                    p.recordAnswer(0, timeoutMs);
+                    roomWriter.append(room, RoomLogEntry.answered(p, questionIndex, 0, timeoutMs));
+                });
+        completeRound(room);
+    }
+
+    /**
+     * Default number of players (humans and bots) in a room.
+     */
+    public int getRoomCapacity() {
+        return MultiplayerRoom.DEFAULT_CAPACITY;
     }
 
     /**
      * Builds the ranking for a room.
      */
     public List<MultiplayerPlayer> getRanking(String roomCode) {
-        String normalizedCode = normalizeRoomCode(roomCode);
-        MultiplayerRoom room = roomRepository.findById(Objects.requireNonNull(normalizedCode))
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-        
-        // Sort by: score (desc) and average response time (asc)
-        return room.getPlayers().stream()
-                .sorted((p1, p2) -> {
-                    int scoreCompare = Integer.compare(p2.getScore(), p1.getScore());
-                    if (scoreCompare != 0) return scoreCompare;
-                    return Double.compare(p1.getAverageResponseTime(), p2.getAverageResponseTime());
-                })
-                .limit(5)
-                .collect(Collectors.toList());
+        return getRanking(requireRoom(roomCode));
+    }
+
+    /**
+     * Reads the ranking the room maintains on every score change: O(K), no reload and no sort.
+     */
+    public List<MultiplayerPlayer> getRanking(MultiplayerRoom room) {
+        return readRoom(room, this::rankPlayers);
+    }
+
+    private List<MultiplayerPlayer> rankPlayers(MultiplayerRoom room) {
+        // Ordered by score (desc) and average response time (asc)
+        return room.topPlayers(RANKING_SIZE);
+    }
+
+    /**
+     * Describes what changed in the room after the given version (see {@link RoomDeltaDTO}).
+     */
+    public RoomDeltaDTO getRoomDelta(MultiplayerRoom room, long sinceVersion) {
+        return readRoom(room, current -> RoomDeltaDTO.since(current, sinceVersion,
+                current.getStatus() == MultiplayerRoom.RoomStatus.FINISHED ? rankPlayers(current) : null));
     }
 
     /**
@@ -214,94 +560,182 @@ public class MultiplayerRoomService {
         if (roomCode == null || roomCode.isBlank()) {
             return null;
         }
-        String normalizedCode = normalizeRoomCode(roomCode);
-        return hydrateRoom(roomRepository.findById(Objects.requireNonNull(normalizedCode)).orElse(null));
+        return findRoom(roomCode);
     }
 
     /**
      * Removes a player from the referenced room.
      */
     public void leaveRoom(String roomCode, String playerId) {
-        String normalizedCode = normalizeRoomCode(roomCode);
-        MultiplayerRoom room = roomRepository.findById(Objects.requireNonNull(normalizedCode)).orElse(null);
+        MultiplayerRoom room = findRoom(roomCode);
         
         if (room == null) {
             return;
         }
 
-        room.removePlayer(playerId);
+        if (roomRegistry.findLive(room.getRoomCode()) != room) {
+            // Stored snapshot of a finished room: no mailbox involved
+            room.removePlayer(playerId);
+            if (room.hasHumanPlayers()) {
+                roomWriter.scheduleSave(room);
+            } else {
+                roomWriter.scheduleDelete(room.getRoomCode());
+                roomCodeAllocator.release(room.getRoomCode());
+            }
+            return;
+        }
+
+        roomMailboxes.call(room.getRoomCode(), () -> {
+            if (roomRegistry.findLive(room.getRoomCode()) != room) {
+                return null;
+            }
+            roomOwnership.requireLocal(room.getRoomCode());
+            room.removePlayer(playerId);
+            room.bumpVersion();
+            room.markRosterChanged();
 
-        boolean hasHumanPlayers = room.getPlayers().stream()
-                .anyMatch(p -> !p.isBot());
+            roomWriter.append(room, RoomLogEntry.left(playerId));
+            if (!room.hasHumanPlayers()) {
+                closeRoom(room);
+            } else {
+                publish(MultiplayerRoomEvent.Type.PLAYER_LEFT, room);
+                // The leaver may have been the last player the round was waiting for
+                if (room.getStatus() == MultiplayerRoom.RoomStatus.PLAYING && room.allPlayersAnswered()) {
+                    completeRound(room);
+                }
+            }
+            return null;
+        });
+    }
 
-        if (!hasHumanPlayers) {
-            roomRepository.delete(room);
-        } else {
-            roomRepository.save(room);
+    /**
+     * Removes a room whose snapshot was just archived by {@link MultiplayerRoomArchiver}.
+     * A live room is only removed if it did not change after the snapshot was taken.
+     */
+    public boolean discardArchivedRoom(MultiplayerRoom room, long archivedVersion) {
+        if (roomRegistry.findLive(room.getRoomCode()) != room) {
+            // Stored snapshot of a finished room: no mailbox involved
+            roomWriter.scheduleDelete(room.getRoomCode());
+            roomCodeAllocator.release(room.getRoomCode());
+            return true;
         }
+        return roomMailboxes.call(room.getRoomCode(), () -> {
+            if (roomRegistry.findLive(room.getRoomCode()) != room || room.getVersion() != archivedVersion) {
+                return false;
+            }
+            room.bumpVersion();
+            closeRoom(room);
+            return true;
+        });
     }
 
     /**
-     * Factory Method: generates a random 6-character room code.
+     * Closes a room whose setup could not be completed (e.g. a quick match that failed to seat or
+     * start), freeing its code and the host's active-room slot. Rooms already gone are ignored.
      */
-    private String generateRoomCode() {
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder code = new StringBuilder();
-        String candidate;
-        
-        do {
-            code.setLength(0);
-            for (int i = 0; i < 6; i++) {
-                code.append(characters.charAt(random.nextInt(characters.length())));
+    public void abandonRoom(String roomCode) {
+        String code = normalizeRoomCode(roomCode);
+        MultiplayerRoom room = roomRegistry.findLive(code);
+        if (room == null) {
+            return;
+        }
+        roomMailboxes.execute(code, () -> {
+            if (roomRegistry.findLive(code) == room) {
+                room.bumpVersion();
+                closeRoom(room);
             }
-            candidate = code.toString();
-        } while (roomRepository.existsById(Objects.requireNonNull(candidate)));
-        
-        return candidate;
+        });
     }
 
     /**
-     * Factory Method: generates a list of math questions.
+     * Drops a live room from memory and MongoDB and frees its code; runs inside the room's mailbox.
      */
-    private List<MultiplayerQuestion> generateQuestions(int count) {
-        List<MultiplayerQuestion> questions = new ArrayList<>();
-        
-        for (int i = 0; i < count; i++) {
-            questions.add(generateQuestion(i + 1));
+    private void closeRoom(MultiplayerRoom room) {
+        roomTimers.cancelQuestionDeadline(room.getRoomCode());
+        roomRegistry.unregister(room.getRoomCode());
+        roomWriter.append(room, RoomLogEntry.closed());
+        roomWriter.scheduleDelete(room.getRoomCode());
+        // Before the code is freed, so a new room reusing it gets a fresh mailbox
+        roomMailboxes.release(room.getRoomCode());
+        roomCodeAllocator.release(room.getRoomCode());
+        publish(MultiplayerRoomEvent.Type.ROOM_CLOSED, room);
+    }
+
+    /**
+     * Latest archived matches the player took part in, newest first.
+     */
+    public List<MatchSummary> getMatchHistory(String playerId) {
+        if (playerId == null || playerId.isBlank()) {
+            throw new IllegalArgumentException("Player id is required");
         }
-        
-        return questions;
+        return summaryRepository.findByPlayerIdsOrderByArchivedAtDesc(playerId, PageRequest.of(0, HISTORY_SIZE));
     }
 
     /**
-     * Factory Method: generates a single math question.
+     * One archived match: its summary plus the full room as it was archived, read back from the
+     * archive segment the summary points to.
      */
-    private MultiplayerQuestion generateQuestion(int id) {
-        int a = random.nextInt(20) + 1;
-        int b = random.nextInt(20) + 1;
-        
-        String[] operations = {"+", "-", "*"};
-        String operation = operations[random.nextInt(operations.length)];
-        
-        return switch (operation) {
-            case "+" -> new MultiplayerQuestion(id, a + " + " + b, a + b);
-            case "-" -> {
-                int max = Math.max(a, b);
-                int min = Math.min(a, b);
-                yield new MultiplayerQuestion(id, max + " - " + min, max - min);
-            }
-            case "*" -> new MultiplayerQuestion(id, a + " * " + b, a * b);
-            default -> new MultiplayerQuestion(id, a + " + " + b, a + b);
-        };
+    public ArchivedMatch getArchivedMatch(String matchId) {
+        if (matchId == null || matchId.isBlank()) {
+            throw new IllegalArgumentException("Match id is required");
+        }
+        MatchSummary summary = summaryRepository.findById(matchId)
+                .orElseThrow(() -> new IllegalArgumentException("Match not found"));
+        Document snapshot;
+        try {
+            snapshot = matchArchive.read(new MatchHistoryArchive.Location(
+                    summary.getSegment(), summary.getOffset(), summary.getLength()));
+        } catch (UncheckedIOException e) {
+            // Segments live on the disk of the node that archived the match
+            throw new IllegalStateException("The archived match is not available on this server");
+        }
+        MultiplayerRoom room = mongoConverter.read(MultiplayerRoom.class, snapshot);
+        // Mapping writes the list fields directly; rebuild them to restore back references
+        room.setPlayers(room.getPlayers());
+        room.setQuestions(room.getQuestions());
+        return new ArchivedMatch(summary, room);
     }
 
     /**
-     * Exposes all rooms (useful for diagnostics).
+     * Keyset-paginated listing of rooms, newest first, as slim summaries.
+     * Pages come from MongoDB through the status/createdAt index; rooms held in memory
+     * report their live status and player count, which may be ahead of the stored copy.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
      */
-    public List<MultiplayerRoom> getAllRooms() {
-        List<MultiplayerRoom> rooms = new ArrayList<>(roomRepository.findAll());
-        rooms.forEach(this::hydrateRoom);
-        return rooms;
+    public RoomPage listRooms(Collection<MultiplayerRoom.RoomStatus> statuses, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Collection<MultiplayerRoom.RoomStatus> filter = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(MultiplayerRoom.RoomStatus.class)
+                : statuses;
+        LocalDateTime beforeCreatedAt = null;
+        String beforeRoomCode = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                beforeCreatedAt = LocalDateTime.parse(parts[0]);
+                beforeRoomCode = parts[1];
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<MultiplayerRoom> stored = roomRepository.findRoomSummaries(filter, beforeCreatedAt, beforeRoomCode, limit);
+        List<RoomSummaryDTO> rooms = stored.stream()
+                .map(room -> {
+                    MultiplayerRoom live = roomRegistry.findLive(room.getRoomCode());
+                    return RoomSummaryDTO.of(live != null ? live : room);
+                })
+                .toList();
+        String nextCursor = null;
+        if (stored.size() == limit) {
+            MultiplayerRoom last = stored.get(stored.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getCreatedAt() + "|" + last.getRoomCode()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new RoomPage(rooms, nextCursor);
     }
 
     private String normalizeRoomCode(String roomCode) {
@@ -311,11 +745,84 @@ public class MultiplayerRoomService {
         return roomCode.toUpperCase();
     }
 
-    private MultiplayerRoom hydrateRoom(MultiplayerRoom room) {
-        if (room != null) {
-            room.getPlayers().size();
-            room.getQuestions().size();
+    /**
+     * Publishes a room change from inside the room's mailbox, so listeners see a consistent state.
+     */
+    private void publish(MultiplayerRoomEvent.Type type, MultiplayerRoom room) {
+        List<MultiplayerPlayer> ranking = room.getStatus() == MultiplayerRoom.RoomStatus.FINISHED
+                ? rankPlayers(room)
+                : null;
+        eventPublisher.publishEvent(new MultiplayerRoomEvent(type, room, ranking));
+    }
+
+    /**
+     * Rejects commands that reach a room after it was closed by another command, or after its
+     * ownership moved to another node and before {@link #handOffForeignRooms()} released it.
+     */
+    private void requireLive(MultiplayerRoom room) {
+        if (roomRegistry.findLive(room.getRoomCode()) != room) {
+            throw new IllegalArgumentException("Room not found");
+        }
+        roomOwnership.requireLocal(room.getRoomCode());
+    }
+
+    /**
+     * Whether timer-driven commands may still change the room: live here and owned by this node.
+     */
+    private boolean isServedHere(MultiplayerRoom room) {
+        return roomRegistry.findLive(room.getRoomCode()) == room && roomOwnership.isLocal(room.getRoomCode());
+    }
+
+    /**
+     * Whether the instance is the room currently registered as live (not a stored or closed copy).
+     */
+    public boolean isLive(MultiplayerRoom room) {
+        return roomRegistry.findLive(room.getRoomCode()) == room;
+    }
+
+    /**
+     * Runs a read-only command against the room state inside its mailbox.
+     */
+    public <T> T readRoom(MultiplayerRoom room, Function<MultiplayerRoom, T> reader) {
+        if (roomRegistry.findLive(room.getRoomCode()) != room) {
+            // Stored snapshot of a finished room: nobody else mutates it
+            return reader.apply(room);
+        }
+        return roomMailboxes.call(room.getRoomCode(), () -> reader.apply(room));
+    }
+
+    /**
+     * Only the owning node serves a room; elsewhere this throws {@link RoomOwnedElsewhereException}.
+     */
+    private MultiplayerRoom findRoom(String roomCode) {
+        String code = normalizeRoomCode(roomCode);
+        roomOwnership.requireLocal(code);
+        boolean cached = roomRegistry.contains(code);
+        MultiplayerRoom room = roomRegistry.find(code);
+        if (!cached && room != null && room.getStatus() == MultiplayerRoom.RoomStatus.PLAYING) {
+            // Loaded from MongoDB, e.g. handed over by a previous owner: its timers live here now
+            resumeRoom(room);
         }
         return room;
     }
+
+    private MultiplayerRoom requireRoom(String roomCode) {
+        MultiplayerRoom room = findRoom(roomCode);
+        if (room == null) {
+            throw new IllegalArgumentException("Room not found");
+        }
+        return room;
+    }
+
+    /**
+     * One page of the room listing; nextCursor is null on the last page.
+     */
+    public record RoomPage(List<RoomSummaryDTO> rooms, String nextCursor) {
+    }
+
+    /**
+     * A match from the history together with the room snapshot stored in the archive.
+     */
+    public record ArchivedMatch(MatchSummary summary, MultiplayerRoom room) {
+    }
 }
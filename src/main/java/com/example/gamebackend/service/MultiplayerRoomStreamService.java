@@ -0,0 +1,156 @@
+package com.example.gamebackend.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.gamebackend.event.MultiplayerRoomEvent;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events fan-out for multiplayer rooms, for clients whose proxies break WebSockets.
+ * Emitters are asynchronous so idle subscribers hold no servlet thread. Each event is serialized once
+ * and delivered by a small pool of dispatchers; a room always maps to the same dispatcher so its
+ * events keep their version order.
+ */
+@Service
+public class MultiplayerRoomStreamService {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int DISPATCHER_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final MultiplayerRoomService roomService;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService[] dispatchers = new ExecutorService[DISPATCHER_COUNT];
+
+    public MultiplayerRoomStreamService(MultiplayerRoomService roomService, ObjectMapper objectMapper) {
+        this.roomService = roomService;
+        this.objectMapper = objectMapper;
+        for (int i = 0; i < DISPATCHER_COUNT; i++) {
+            String name = "multiplayer-sse-" + i;
+            dispatchers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Opens a stream for the room and queues the current state as its first event.
+     * Returns null when the room does not exist.
+     */
+    public SseEmitter subscribe(String roomCode) {
+        MultiplayerRoom room = roomService.getRoom(roomCode);
+        if (room == null) {
+            return null;
+        }
+        String code = room.getRoomCode();
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(code, key -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(code, emitter));
+        emitter.onTimeout(() -> unsubscribe(code, emitter));
+        emitter.onError(error -> unsubscribe(code, emitter));
+
+        Frame snapshot = roomService.readRoom(room,
+                current -> toFrame(new MultiplayerRoomEvent(MultiplayerRoomEvent.Type.ROOM_STATE, current, null)));
+        dispatcherFor(code).execute(() -> send(code, emitter, snapshot));
+        return emitter;
+    }
+
+    @EventListener
+    public void onRoomEvent(MultiplayerRoomEvent event) {
+        Set<SseEmitter> emitters = subscribers.get(event.getRoomCode());
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        Frame frame = toFrame(event);
+        dispatcherFor(event.getRoomCode()).execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(event.getRoomCode(), emitter, frame);
+            }
+            if (event.isTerminal()) {
+                Set<SseEmitter> closed = subscribers.remove(event.getRoomCode());
+                if (closed != null) {
+                    closed.forEach(SseEmitter::complete);
+                }
+            }
+        });
+    }
+
+    /**
+     * Keeps idle streams alive through proxies and prunes disconnected clients.
+     */
+    @Scheduled(fixedRate = 20_000)
+    public void heartbeat() {
+        subscribers.forEach((code, emitters) -> dispatcherFor(code).execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(code, emitter);
+                }
+            }
+        }));
+    }
+
+    private void send(String roomCode, SseEmitter emitter, Frame frame) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(frame.version()))
+                    .name(frame.name())
+                    .data(frame.payload(), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(roomCode, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(String roomCode, SseEmitter emitter) {
+        subscribers.computeIfPresent(roomCode, (code, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private ExecutorService dispatcherFor(String roomCode) {
+        return dispatchers[Math.floorMod(roomCode.hashCode(), DISPATCHER_COUNT)];
+    }
+
+    private Frame toFrame(MultiplayerRoomEvent event) {
+        try {
+            return new Frame(event.getVersion(), event.getType().name(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize room event", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdownNow();
+        }
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * An event serialized once and shared by every emitter of the room.
+     */
+    private record Frame(long version, String name, String payload) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.gamebackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.model.RoomLogEntry;
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+import com.example.gamebackend.repository.RoomLogRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind persistence for live multiplayer rooms.
+ * Every mutation is appended to the room's event log ({@link RoomLogEntry}, one small insert);
+ * the whole document is only rewritten as a snapshot when the room is created, changes status, or
+ * every app.multiplayer.snapshot-interval-events entries, so a reload replays a short tail of the log.
+ * Callers append and snapshot from inside the room's mailbox; the MongoDB writes happen on a
+ * background thread, and a newer snapshot supersedes an older one still queued. If log entries
+ * cannot be stored, the room is re-snapshotted so its stored state does not depend on them.
+ */
+@Component
+public class MultiplayerRoomWriter {
+
+    private static final Logger LOGGER = Logger.getLogger(MultiplayerRoomWriter.class.getName());
+
+    private final MultiplayerRoomRepository roomRepository;
+    private final RoomLogRepository roomLogRepository;
+    private final MongoConverter mongoConverter;
+    private final MultiplayerRoomRegistry roomRegistry;
+    private final RoomMailboxes roomMailboxes;
+    private final int snapshotInterval;
+    private final ConcurrentMap<String, PendingWrites> pending = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "multiplayer-room-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MultiplayerRoomWriter(MultiplayerRoomRepository roomRepository,
+                                 RoomLogRepository roomLogRepository,
+                                 MongoConverter mongoConverter,
+                                 MultiplayerRoomRegistry roomRegistry,
+                                 RoomMailboxes roomMailboxes,
+                                 AppProperties appProperties) {
+        this.roomRepository = roomRepository;
+        this.roomLogRepository = roomLogRepository;
+        this.mongoConverter = mongoConverter;
+        this.roomRegistry = roomRegistry;
+        this.roomMailboxes = roomMailboxes;
+        this.snapshotInterval = Math.max(1, appProperties.getMultiplayer().getSnapshotIntervalEvents());
+    }
+
+    /**
+     * Queues a full snapshot of the room. Must be called from a command running in the room's mailbox.
+     */
+    public void scheduleSave(MultiplayerRoom room) {
+        room.markSnapshotted();
+        Document snapshot = toDocument(room);
+        enqueue(room.getRoomCode(), writes -> {
+            writes.delete = false;
+            writes.snapshot = snapshot;
+        });
+    }
+
+    /**
+     * Appends one entry to the room's log, after the change it records was applied to the room.
+     * Must be called from a command running in the room's mailbox.
+     */
+    public void append(MultiplayerRoom room, RoomLogEntry entry) {
+        entry.appendTo(room);
+        enqueue(room.getRoomCode(), writes -> writes.entries.add(entry));
+        if (room.entriesSinceSnapshot() >= snapshotInterval) {
+            scheduleSave(room);
+        }
+    }
+
+    /**
+     * Converts the room to its stored form. Must be called while nobody else mutates the room.
+     */
+    public Document toDocument(MultiplayerRoom room) {
+        Document snapshot = new Document();
+        mongoConverter.write(room, snapshot);
+        return snapshot;
+    }
+
+    public void scheduleDelete(String roomCode) {
+        roomRegistry.markDeleting(roomCode);
+        enqueue(roomCode, writes -> {
+            writes.delete = true;
+            writes.snapshot = null;
+        });
+    }
+
+    private void enqueue(String roomCode, Consumer<PendingWrites> change) {
+        boolean[] created = new boolean[1];
+        pending.compute(roomCode, (code, writes) -> {
+            if (writes == null) {
+                writes = new PendingWrites();
+                created[0] = true;
+            }
+            change.accept(writes);
+            return writes;
+        });
+        if (created[0]) {
+            executor.execute(() -> drain(roomCode));
+        }
+    }
+
+    private void drain(String roomCode) {
+        PendingWrites writes = pending.remove(roomCode);
+        if (writes == null) {
+            return;
+        }
+        try {
+            if (writes.delete) {
+                roomRepository.deleteById(roomCode);
+                // Kept if the delete failed (the stored copy must stay hidden) or another is queued
+                if (!pending.containsKey(roomCode)) {
+                    roomRegistry.deleted(roomCode);
+                }
+            } else if (writes.snapshot != null) {
+                roomRepository.saveSnapshot(roomCode, writes.snapshot);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to persist multiplayer room " + roomCode, e);
+        }
+        if (writes.entries.isEmpty()) {
+            return;
+        }
+        try {
+            // The log outlives the room document, so entries of a deleted room are still stored
+            roomLogRepository.insert(writes.entries);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to append to the event log of room " + roomCode, e);
+            resync(roomCode);
+        }
+    }
+
+    /**
+     * The stored log has a gap: rewrite the room whole so a reload does not need the missing entries.
+     */
+    private void resync(String roomCode) {
+        roomMailboxes.execute(roomCode, () -> {
+            MultiplayerRoom room = roomRegistry.findLive(roomCode);
+            if (room != null) {
+                scheduleSave(room);
+            }
+        });
+    }
+
+    /**
+     * Flushes every queued write before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            LOGGER.warning("Timed out flushing pending multiplayer room writes");
+        }
+    }
+
+    private static final class PendingWrites {
+        private boolean delete;
+        private Document snapshot;
+        private final List<RoomLogEntry> entries = new ArrayList<>();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.gamebackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.model.MultiplayerQuestion;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+/**
+ * Flyweight Pattern: pregenerated pools of immutable question sets, one pool per difficulty and
+ * operation mix. Starting a match only picks a set from the pool, so it allocates nothing and every
+ * room holding the same set shares one copy. Pools are refreshed gradually in the background.
+ */
+@Component
+public class QuestionBank {
+
+    public static final int QUESTIONS_PER_SET = 5;
+
+    private static final int SETS_PER_POOL = 64;
+    private static final int REFRESH_PER_TICK = 8;
+
+    private final ConcurrentMap<Key, AtomicReferenceArray<QuestionSet>> pools = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        poolFor(new Key(MultiplayerRoom.Difficulty.NORMAL, MultiplayerRoom.DEFAULT_OPERATIONS));
+    }
+
+    /**
+     * Hands out a shared set for the key. The first request for a new key builds its pool.
+     */
+    public QuestionSet take(Key key) {
+        AtomicReferenceArray<QuestionSet> pool = poolFor(key);
+        return pool.get(ThreadLocalRandom.current().nextInt(SETS_PER_POOL));
+    }
+
+    /**
+     * Replaces a few sets of every pool so long-running nodes do not keep serving the same questions.
+     */
+    @Scheduled(fixedDelay = 30_000)
+    public void refresh() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        pools.forEach((key, pool) -> {
+            for (int i = 0; i < REFRESH_PER_TICK; i++) {
+                pool.set(random.nextInt(SETS_PER_POOL), generate(key, random.nextLong()));
+            }
+        });
+    }
+
+    private AtomicReferenceArray<QuestionSet> poolFor(Key key) {
+        return pools.computeIfAbsent(key, k -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            AtomicReferenceArray<QuestionSet> pool = new AtomicReferenceArray<>(SETS_PER_POOL);
+            for (int i = 0; i < SETS_PER_POOL; i++) {
+                pool.set(i, generate(k, random.nextLong()));
+            }
+            return pool;
+        });
+    }
+
+    /**
+     * Factory Method: builds the question set for a seed. The same key and seed always yield the same set.
+     */
+    public static QuestionSet generate(Key key, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String operations = key.operations();
+        int maxOperand = key.difficulty().getMaxOperand();
+        int maxFactor = key.difficulty().getMaxFactor();
+        List<MultiplayerQuestion> questions = new ArrayList<>(QUESTIONS_PER_SET);
+
+        for (int i = 0; i < QUESTIONS_PER_SET; i++) {
+            char operation = operations.charAt(random.nextInt(operations.length()));
+            int id = i + 1;
+            MultiplayerQuestion question = switch (operation) {
+                case '-' -> {
+                    int a = random.nextInt(maxOperand) + 1;
+                    int b = random.nextInt(maxOperand) + 1;
+                    int max = Math.max(a, b);
+                    int min = Math.min(a, b);
+                    yield new MultiplayerQuestion(id, max + " - " + min, max - min);
+                }
+                case '*' -> {
+                    int a = random.nextInt(maxFactor) + 1;
+                    int b = random.nextInt(maxFactor) + 1;
+                    yield new MultiplayerQuestion(id, a + " * " + b, a * b);
+                }
+                default -> {
+                    int a = random.nextInt(maxOperand) + 1;
+                    int b = random.nextInt(maxOperand) + 1;
+                    yield new MultiplayerQuestion(id, a + " + " + b, a + b);
+                }
+            };
+            questions.add(question);
+        }
+        return new QuestionSet(seed, List.copyOf(questions));
+    }
+
+    /**
+     * Pool key: difficulty plus a normalized operation mix ("+", "-", "*" in canonical order).
+     */
+    public record Key(MultiplayerRoom.Difficulty difficulty, String operations) {
+        public Key {
+            if (difficulty == null) {
+                difficulty = MultiplayerRoom.Difficulty.NORMAL;
+            }
+            StringBuilder normalized = new StringBuilder(3);
+            for (char operation : MultiplayerRoom.DEFAULT_OPERATIONS.toCharArray()) {
+                if (operations != null && operations.indexOf(operation) >= 0) {
+                    normalized.append(operation);
+                }
+            }
+            if (normalized.length() == 0) {
+                throw new IllegalArgumentException("At least one operation (+, -, *) is required");
+            }
+            operations = normalized.toString();
+        }
+
+        public static Key of(MultiplayerRoom room) {
+            return new Key(room.getDifficulty(), room.getOperations());
+        }
+    }
+
+    /**
+     * Immutable question list together with the seed that generated it.
+     */
+    public record QuestionSet(long seed, List<MultiplayerQuestion> questions) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.gamebackend.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.event.MultiplayerRoomEvent;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Long-poll support for clients that can use neither WebSockets nor SSE. A request parks on the room
+ * without holding a servlet thread until the room version moves past the one the client has; the
+ * event every mutation publishes releases all of the room's waiters in one pass.
+ */
+@Service
+public class RoomChangeWaiters {
+
+    private static final int COMPLETER_COUNT = 2;
+
+    private final long timeoutMs;
+    private final ConcurrentMap<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final ExecutorService completers;
+
+    public RoomChangeWaiters(AppProperties appProperties) {
+        this.timeoutMs = appProperties.getMultiplayer().getAwaitTimeoutMs();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.completers = Executors.newFixedThreadPool(COMPLETER_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "multiplayer-await-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Parks until the room's version is greater than sinceVersion, then completes with
+     * {@code onChange} applied to the room; after the timeout it completes with {@code onTimeout}.
+     * A room already past sinceVersion completes immediately.
+     */
+    public <T> DeferredResult<T> await(MultiplayerRoom room, long sinceVersion,
+                                       Function<MultiplayerRoom, T> onChange, Supplier<T> onTimeout) {
+        String code = room.getRoomCode();
+        DeferredResult<T> result = new DeferredResult<>(timeoutMs, onTimeout);
+        Waiter waiter = new Waiter(room, sinceVersion, () -> {
+            try {
+                result.setResult(onChange.apply(room));
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        result.onCompletion(() -> remove(code, waiter));
+
+        // Added under the key's lock: remove() may drop an emptied set concurrently
+        waiters.compute(code, (key, parked) -> {
+            Set<Waiter> set = parked == null ? ConcurrentHashMap.newKeySet() : parked;
+            set.add(waiter);
+            return set;
+        });
+        // Checked after registering so a change landing in between is never missed
+        if (room.getVersion() > sinceVersion && waiter.claim()) {
+            remove(code, waiter);
+            waiter.complete.run();
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onRoomEvent(MultiplayerRoomEvent event) {
+        Set<Waiter> parked = waiters.get(event.getRoomCode());
+        if (parked == null || parked.isEmpty()) {
+            return;
+        }
+        boolean closed = event.isTerminal();
+        for (Waiter waiter : parked) {
+            if (waiter.room == event.getRoom()
+                    && (closed || event.getVersion() > waiter.sinceVersion)
+                    && waiter.claim()) {
+                parked.remove(waiter);
+                // Runs inside the room's mailbox: build responses elsewhere
+                completers.execute(waiter.complete);
+            }
+        }
+    }
+
+    private void remove(String roomCode, Waiter waiter) {
+        waiters.computeIfPresent(roomCode, (code, parked) -> {
+            parked.remove(waiter);
+            return parked.isEmpty() ? null : parked;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        completers.shutdownNow();
+    }
+
+    private static final class Waiter {
+
+        private final MultiplayerRoom room;
+        private final long sinceVersion;
+        private final Runnable complete;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Waiter(MultiplayerRoom room, long sinceVersion, Runnable complete) {
+            this.room = room;
+            this.sinceVersion = sinceVersion;
+            this.complete = complete;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
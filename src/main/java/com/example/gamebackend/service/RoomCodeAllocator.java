@@ -0,0 +1,109 @@
+package com.example.gamebackend.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Allocates unique 6-character room codes without probing MongoDB.
+ * A counter is walked through the 36^6 code space with an affine permutation
+ * (multiplier coprime with 36^6), so consecutive rooms get unrelated-looking codes and the
+ * sequence only repeats after every code was issued. Codes still stored in MongoDB are loaded
+ * at startup and again whenever the cluster membership changes (this node may now own codes
+ * whose rooms were created elsewhere), and tracked locally in between; they are reclaimed when
+ * rooms are deleted or archived.
+ */
+@Component
+public class RoomCodeAllocator {
+
+    private static final Logger LOGGER = Logger.getLogger(RoomCodeAllocator.class.getName());
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int CODE_LENGTH = 6;
+    private static final long CODE_SPACE = 2_176_782_336L;      // 36^6
+    private static final long MULTIPLIER = 1_000_000_007L;      // prime, so coprime with 2 and 3
+    private static final int MAX_ATTEMPTS = 1_000;
+
+    private final MultiplayerRoomRepository roomRepository;
+    private final RoomOwnership roomOwnership;
+    private final Set<String> codesInUse = ConcurrentHashMap.newKeySet();
+    private final AtomicLong counter;
+    private final long offset;
+    // Ring generation codesInUse was last loaded for
+    private volatile long loadedGeneration = -1L;
+
+    public RoomCodeAllocator(MultiplayerRoomRepository roomRepository, RoomOwnership roomOwnership) {
+        this(roomRepository, roomOwnership,
+                ThreadLocalRandom.current().nextLong(CODE_SPACE), ThreadLocalRandom.current().nextLong(CODE_SPACE));
+    }
+
+    // Fixed starting point, so tests can predict the sequence
+    RoomCodeAllocator(MultiplayerRoomRepository roomRepository, RoomOwnership roomOwnership,
+                      long start, long offset) {
+        this.roomRepository = roomRepository;
+        this.roomOwnership = roomOwnership;
+        this.counter = new AtomicLong(start);
+        this.offset = offset;
+    }
+
+    @PostConstruct
+    public void loadCodesInUse() {
+        long generation = roomOwnership.generation();
+        try {
+            // Added, never replaced: codes allocated here may not have reached MongoDB yet
+            codesInUse.addAll(roomRepository.findAllRoomCodes());
+            loadedGeneration = generation;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not load stored room codes; allocation continues from memory only", e);
+        }
+    }
+
+    public String allocate() {
+        if (roomOwnership.generation() != loadedGeneration) {
+            reloadCodesInUse();
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long index = Math.floorMod(counter.getAndIncrement(), CODE_SPACE);
+            String code = encode((MULTIPLIER * index + offset) % CODE_SPACE);
+            // Rooms live on the node owning their code, so only hand out codes this node owns
+            if (roomOwnership.isLocal(code) && codesInUse.add(code)) {
+                return code;
+            }
+        }
+        throw new IllegalStateException("No room codes available");
+    }
+
+    public void release(String roomCode) {
+        codesInUse.remove(roomCode);
+    }
+
+    /**
+     * Records a code whose room was loaded from MongoDB rather than allocated here.
+     */
+    public void markInUse(String roomCode) {
+        codesInUse.add(roomCode);
+    }
+
+    private synchronized void reloadCodesInUse() {
+        if (roomOwnership.generation() != loadedGeneration) {
+            loadCodesInUse();
+        }
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(code);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.gamebackend.service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Actor Pattern: every room owns a lightweight mailbox and its commands run one at a time on a
+ * shared work-stealing pool. Commands for the same room never overlap, so room state can be mutated
+ * without locks, while commands for different rooms spread across all cores.
+ */
+@Component
+public class RoomMailboxes {
+
+    private static final Logger LOGGER = Logger.getLogger(RoomMailboxes.class.getName());
+    private static final int MAX_COMMANDS_PER_TURN = 32;
+
+    private final ConcurrentMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ForkJoinPool pool = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("room-actor-" + thread.getPoolIndex());
+                return thread;
+            },
+            null,
+            true);
+
+    /**
+     * Creates the mailbox of a room that just became live (created or loaded into memory).
+     */
+    public void open(String roomCode) {
+        mailboxes.computeIfAbsent(roomCode, code -> new Mailbox());
+    }
+
+    /**
+     * Runs the command inside the room's mailbox and waits for its result.
+     * Must not be called from a command of the same room.
+     *
+     * @throws IllegalArgumentException when the room has no mailbox (closed or never opened)
+     */
+    public <T> T call(String roomCode, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean queued = execute(roomCode, () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!queued) {
+            throw new IllegalArgumentException("Room not found");
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a fire-and-forget command for the room. Commands for a room whose mailbox was released
+     * (late timers, resyncs, callbacks) are dropped instead of recreating it.
+     *
+     * @return false when the command was dropped
+     */
+    public boolean execute(String roomCode, Runnable command) {
+        Mailbox mailbox = mailboxes.get(roomCode);
+        if (mailbox == null) {
+            return false;
+        }
+        mailbox.commands.add(command);
+        mailbox.schedule();
+        return true;
+    }
+
+    /**
+     * Drops the mailbox of a room that no longer exists; already queued commands still run.
+     */
+    public void release(String roomCode) {
+        mailboxes.remove(roomCode);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private final class Mailbox implements Runnable {
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void schedule() {
+            if (!commands.isEmpty() && scheduled.compareAndSet(false, true)) {
+                pool.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_COMMANDS_PER_TURN; i++) {
+                    Runnable command = commands.poll();
+                    if (command == null) {
+                        break;
+                    }
+                    try {
+                        command.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Room command failed", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // Yield to other rooms after a bounded turn, then pick up anything left behind
+                schedule();
+            }
+        }
+    }
+}
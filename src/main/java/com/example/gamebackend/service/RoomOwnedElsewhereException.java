@@ -0,0 +1,21 @@
+package com.example.gamebackend.service;
+
+/**
+ * Thrown when a room command reaches a node that does not own the room; callers send the client
+ * to {@link #getOwner()}.
+ */
+public class RoomOwnedElsewhereException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ClusterMembership.Node owner;
+
+    public RoomOwnedElsewhereException(String roomCode, ClusterMembership.Node owner) {
+        super("Room " + roomCode + " is served by node " + owner.id());
+        this.owner = owner;
+    }
+
+    public ClusterMembership.Node getOwner() {
+        return owner;
+    }
+}
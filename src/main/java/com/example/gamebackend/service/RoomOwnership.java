@@ -0,0 +1,63 @@
+package com.example.gamebackend.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.util.ConsistentHashRing;
+
+/**
+ * Maps every room code to the one node that keeps the room live in memory, through a
+ * consistent-hash ring over the cluster membership. Only the owner runs a room's mailbox, timers and
+ * write-behind; other nodes send clients there instead of loading the room from MongoDB.
+ */
+@Component
+public class RoomOwnership {
+
+    private final ClusterMembership membership;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing<ClusterMembership.Node> ring;
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoomOwnership(ClusterMembership membership, AppProperties appProperties) {
+        this.membership = membership;
+        this.virtualNodes = appProperties.getCluster().getVirtualNodes();
+    }
+
+    public ClusterMembership.Node ownerOf(String roomCode) {
+        return ring().nodeFor(roomCode);
+    }
+
+    public boolean isLocal(String roomCode) {
+        return ownerOf(roomCode).equals(membership.self());
+    }
+
+    public void requireLocal(String roomCode) {
+        ClusterMembership.Node owner = ownerOf(roomCode);
+        if (!owner.equals(membership.self())) {
+            throw new RoomOwnedElsewhereException(roomCode, owner);
+        }
+    }
+
+    /**
+     * Counts ring rebuilds, so callers can tell that ownership may have moved since they last looked.
+     */
+    public long generation() {
+        ring();
+        return generation.get();
+    }
+
+    private ConsistentHashRing<ClusterMembership.Node> ring() {
+        List<ClusterMembership.Node> nodes = membership.nodes();
+        ConsistentHashRing<ClusterMembership.Node> current = ring;
+        if (current == null || current.nodes() != nodes && !current.nodes().equals(nodes)) {
+            // Membership changed: rebuild once, lookups stay lock-free
+            current = new ConsistentHashRing<>(nodes, ClusterMembership.Node::id, virtualNodes);
+            ring = current;
+            generation.incrementAndGet();
+        }
+        return current;
+    }
+}
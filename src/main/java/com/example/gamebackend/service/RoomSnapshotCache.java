@@ -0,0 +1,123 @@
+package com.example.gamebackend.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.event.MultiplayerRoomEvent;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Serialized room state shared by every reader. Each live room version is encoded once, inside the
+ * room's mailbox, and the bytes are handed out unchanged until the next mutation bumps the version,
+ * so polling players and spectators cost a map lookup instead of a Jackson pass each.
+ */
+@Component
+public class RoomSnapshotCache {
+
+    private final MultiplayerRoomService roomService;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public RoomSnapshotCache(MultiplayerRoomService roomService,
+                             ObjectMapper objectMapper,
+                             Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.roomService = roomService;
+        this.jsonMapper = objectMapper;
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    /**
+     * Room state (success flag, room and current question) for the room's current version.
+     */
+    public Snapshot get(MultiplayerRoom room) {
+        Snapshot cached = snapshots.get(room.getRoomCode());
+        if (cached != null && cached.isOf(room)) {
+            return cached;
+        }
+        return roomService.readRoom(room, current -> {
+            // Readers that missed together queue up here; only the first one encodes
+            Snapshot latest = snapshots.get(current.getRoomCode());
+            if (latest != null && latest.isOf(current)) {
+                return latest;
+            }
+            Snapshot fresh = new Snapshot(current, current.getVersion(), encode(current));
+            if (roomService.isLive(current)) {
+                snapshots.put(current.getRoomCode(), fresh);
+            }
+            return fresh;
+        });
+    }
+
+    @EventListener
+    public void onRoomEvent(MultiplayerRoomEvent event) {
+        if (event.isTerminal()) {
+            snapshots.remove(event.getRoomCode());
+        }
+    }
+
+    private byte[] encode(MultiplayerRoom room) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("room", room);
+        body.put("currentQuestion", room.getCurrentQuestion());
+        try {
+            return jsonMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize room state", e);
+        }
+    }
+
+    /**
+     * Immutable encoding of one room version. The CBOR form is derived from the JSON bytes on first
+     * request, so it describes the same version even though the room has moved on since.
+     */
+    public final class Snapshot {
+
+        private final MultiplayerRoom room;
+        private final long version;
+        private final byte[] json;
+        private volatile byte[] cbor;
+
+        private Snapshot(MultiplayerRoom room, long version, byte[] json) {
+            this.room = room;
+            this.version = version;
+            this.json = json;
+        }
+
+        private boolean isOf(MultiplayerRoom current) {
+            // Identity check too: room codes are reused after a room closes
+            return room == current && version == current.getVersion();
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public byte[] json() {
+            return json;
+        }
+
+        public byte[] cbor() {
+            byte[] encoded = cbor;
+            if (encoded == null) {
+                try {
+                    encoded = cborMapper.writeValueAsBytes(jsonMapper.readTree(json));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to serialize room state", e);
+                }
+                cbor = encoded;
+            }
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.gamebackend.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.gamebackend.util.HierarchicalTimingWheel;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Shared timer for every room, backed by one hierarchical timing wheel (100 ms ticks).
+ * Expired tasks run on the wheel thread, so they must only enqueue work into a room mailbox.
+ */
+@Component
+public class RoomTimers {
+
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 64;
+    private static final int LEVELS = 4;
+
+    private final HierarchicalTimingWheel wheel;
+    private final ConcurrentMap<String, HierarchicalTimingWheel.Timeout> questionDeadlines = new ConcurrentHashMap<>();
+
+    public RoomTimers() {
+        this(new HierarchicalTimingWheel("room-timers", TICK_MS, WHEEL_SIZE, LEVELS));
+    }
+
+    RoomTimers(HierarchicalTimingWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    public HierarchicalTimingWheel.Timeout schedule(long delayMs, Runnable task) {
+        return wheel.schedule(delayMs, TimeUnit.MILLISECONDS, task);
+    }
+
+    /**
+     * Arms the deadline of the room's current question, cancelling the previous one.
+     */
+    public void armQuestionDeadline(String roomCode, long delayMs, Runnable onExpiry) {
+        HierarchicalTimingWheel.Timeout previous = questionDeadlines.put(roomCode, schedule(delayMs, onExpiry));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void cancelQuestionDeadline(String roomCode) {
+        HierarchicalTimingWheel.Timeout previous = questionDeadlines.remove(roomCode);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public int pendingCount() {
+        return wheel.pendingCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+    }
+}
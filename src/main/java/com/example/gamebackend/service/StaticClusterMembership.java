@@ -0,0 +1,56 @@
+package com.example.gamebackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.gamebackend.config.AppProperties;
+
+/**
+ * Fixed membership read from {@code app.cluster.nodes} ("id=baseUrl" entries). With no entries the
+ * process is a cluster of one and owns every room.
+ */
+public class StaticClusterMembership implements ClusterMembership {
+
+    private final Node self;
+    private final List<Node> nodes;
+
+    public StaticClusterMembership(String selfId, List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            this.self = new Node(selfId, "");
+            this.nodes = List.of(self);
+            return;
+        }
+        this.nodes = List.copyOf(nodes);
+        this.self = this.nodes.stream()
+                .filter(node -> node.id().equals(selfId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "app.cluster.node-id '" + selfId + "' is not listed in app.cluster.nodes"));
+    }
+
+    public static StaticClusterMembership of(AppProperties.Cluster properties) {
+        List<Node> nodes = new ArrayList<>();
+        for (String entry : properties.getNodes()) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalStateException("Invalid app.cluster.nodes entry (expected id=baseUrl): " + entry);
+            }
+            String baseUrl = entry.substring(separator + 1).trim();
+            if (baseUrl.endsWith("/")) {
+                baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+            }
+            nodes.add(new Node(entry.substring(0, separator).trim(), baseUrl));
+        }
+        return new StaticClusterMembership(properties.getNodeId(), nodes);
+    }
+
+    @Override
+    public Node self() {
+        return self;
+    }
+
+    @Override
+    public List<Node> nodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.gamebackend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Consistent-hash ring: maps keys to nodes so that adding or removing a node only moves the keys
+ * of that node (about 1/N of them) instead of reshuffling everything.
+ *
+ * Every node is placed on a 64-bit ring at {@code virtualNodes} points to even out the share each
+ * node gets. The ring is immutable and stored as two parallel sorted arrays, so a lookup is one
+ * hash and one binary search with no allocation; rebuild it when the membership changes.
+ */
+public final class ConsistentHashRing<N> {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<N> nodes;
+    private final long[] points;
+    private final Object[] owners;
+
+    public ConsistentHashRing(Collection<N> nodes, Function<N, String> nodeKey, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = List.copyOf(nodes);
+        int size = this.nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        Object[] placed = new Object[size];
+        int i = 0;
+        for (N node : this.nodes) {
+            String key = nodeKey.apply(node);
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                hashes[i] = hash(key + "#" + replica);
+                placed[i] = node;
+                i++;
+            }
+        }
+        // Sort the points and carry their owners along
+        Integer[] order = new Integer[size];
+        for (int k = 0; k < size; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new Object[size];
+        for (int k = 0; k < size; k++) {
+            points[k] = hashes[order[k]];
+            owners[k] = placed[order[k]];
+        }
+    }
+
+    /**
+     * Node owning the key: the first node point at or after the key's hash, wrapping around.
+     */
+    @SuppressWarnings("unchecked")
+    public N nodeFor(String key) {
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (N) owners[index == points.length ? 0 : index];
+    }
+
+    public List<N> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, which spreads short keys such as room
+     * codes over the whole ring.
+     */
+    static long hash(String key) {
+        long h = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.gamebackend.util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel: schedules huge numbers of timeouts with O(1) insertion and cancellation
+ * and a single driver thread, instead of one scheduled task per timeout.
+ *
+ * Level 0 has {@code wheelSize} buckets of one tick each; every higher level covers
+ * {@code wheelSize} times the span of the level below. A timeout is placed in the lowest level whose
+ * range contains its deadline and cascades down as the clock reaches its window. New timeouts go
+ * through a lock-free inbox, so the wheel itself is only touched by the driver thread.
+ * Expired tasks run on the driver thread and must only hand work off (e.g. enqueue a command).
+ * A wheel built over an external clock has no driver: its owner calls {@link #runDueTicks()}.
+ */
+public final class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(HierarchicalTimingWheel.class.getName());
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final int levels;
+    private final long maxDelayTicks;
+    private final Bucket[][] buckets;
+    private final long[] spans;
+    private final Queue<Timeout> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Thread driver;
+    private long currentTick;
+
+    public HierarchicalTimingWheel(String name, long tickMs, int wheelSize, int levels) {
+        this(tickMs, wheelSize, levels, System::nanoTime, name);
+    }
+
+    /**
+     * Wheel driven by the given nanosecond clock and no thread of its own (e.g. tests advancing
+     * time by hand); expired tasks run on the caller of {@link #runDueTicks()}.
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, LongSupplier nanoClock) {
+        this(tickMs, wheelSize, levels, nanoClock, null);
+    }
+
+    private HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, LongSupplier nanoClock, String driverName) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.buckets = new Bucket[levels][wheelSize];
+        this.spans = new long[levels];
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            spans[level] = span;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new Bucket();
+            }
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.maxDelayTicks = span - 1;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        if (driverName == null) {
+            this.driver = null;
+            return;
+        }
+        this.driver = new Thread(this::run, driverName);
+        this.driver.setDaemon(true);
+        this.driver.start();
+    }
+
+    /**
+     * Schedules the task after the given delay (rounded up to whole ticks). Safe from any thread.
+     */
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        if (!running.get()) {
+            throw new IllegalStateException("Timing wheel is stopped");
+        }
+        long elapsed = nanoClock.getAsLong() - startNanos + unit.toNanos(Math.max(0, delay));
+        long deadlineTick = (elapsed + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(deadlineTick, task);
+        pending.incrementAndGet();
+        inbox.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Number of timeouts that are neither expired nor cancelled yet.
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        if (running.compareAndSet(true, false) && driver != null) {
+            LockSupport.unpark(driver);
+        }
+    }
+
+    private void run() {
+        while (running.get()) {
+            runDueTicks();
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            LockSupport.parkNanos(Math.max(0, nextTickNanos - nanoClock.getAsLong()));
+        }
+    }
+
+    /**
+     * Advances the wheel through every tick the clock has passed, expiring what became due. Called
+     * by the driver thread; only call it directly on a wheel built without one.
+     */
+    public void runDueTicks() {
+        long targetTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        while (currentTick < targetTick) {
+            drainInbox();
+            currentTick++;
+            advance(currentTick);
+        }
+        drainInbox();
+    }
+
+    private void drainInbox() {
+        Timeout timeout;
+        while ((timeout = inbox.poll()) != null) {
+            place(timeout);
+        }
+    }
+
+    private void advance(long tick) {
+        // Cascade from the top so tasks moving down several levels land before their bucket is read
+        for (int level = levels - 1; level > 0; level--) {
+            if (tick % spans[level] == 0) {
+                Bucket bucket = buckets[level][(int) ((tick / spans[level]) % wheelSize)];
+                int size = bucket.size();
+                for (int i = 0; i < size; i++) {
+                    place(bucket.poll());
+                }
+            }
+        }
+        Bucket due = buckets[0][(int) (tick % wheelSize)];
+        Timeout timeout;
+        while ((timeout = due.poll()) != null) {
+            expire(timeout);
+        }
+    }
+
+    private void place(Timeout timeout) {
+        if (timeout.isCancelled()) {
+            return;
+        }
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(timeout);
+            return;
+        }
+        long deadline = delta > maxDelayTicks ? currentTick + maxDelayTicks : timeout.deadlineTick;
+        for (int level = 0; level < levels; level++) {
+            if (delta < spans[level] * wheelSize || level == levels - 1) {
+                buckets[level][(int) ((deadline / spans[level]) % wheelSize)].add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void expire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Timing wheel task failed", e);
+        }
+    }
+
+    /**
+     * Timeouts of one slot in arrival order; a named type so the wheel can be a plain array.
+     */
+    private static final class Bucket {
+        private final ArrayDeque<Timeout> timeouts = new ArrayDeque<>();
+
+        private void add(Timeout timeout) {
+            timeouts.add(timeout);
+        }
+
+        private Timeout poll() {
+            return timeouts.poll();
+        }
+
+        private int size() {
+            return timeouts.size();
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final long deadlineTick;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task; the entry is dropped lazily when the wheel reaches it.
+         *
+         * @return true if the task had not run yet
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
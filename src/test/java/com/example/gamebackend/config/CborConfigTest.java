@@ -0,0 +1,32 @@
+package com.example.gamebackend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+class CborConfigTest {
+
+    @Test
+    void replacesTheDefaultCborConverterInPlace() {
+        MappingJackson2CborHttpMessageConverter defaultCbor = new MappingJackson2CborHttpMessageConverter();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter());
+        converters.add(defaultCbor);
+
+        new CborConfig().cborConfigurer(Jackson2ObjectMapperBuilder.json()).extendMessageConverters(converters);
+
+        assertEquals(2, converters.size());
+        assertTrue(converters.get(0) instanceof MappingJackson2HttpMessageConverter);
+        assertTrue(converters.get(1) instanceof MappingJackson2CborHttpMessageConverter);
+        assertNotSame(defaultCbor, converters.get(1));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.gamebackend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+class MongoConfigTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void seatedPlayerCountersAreStoredAndRestored() {
+        MultiplayerRoom room = new MultiplayerRoom("ABC123", "host");
+        MultiplayerPlayer host = new MultiplayerPlayer("host", "Host");
+        room.addPlayer(host);
+        room.addPlayer(new MultiplayerPlayer.Builder("bot-ABC123", "ChatBot")
+                .bot(true)
+                .skill(MultiplayerPlayer.BotSkill.EXPERT)
+                .build());
+        host.recordAnswer(10, 1_200);
+
+        Document stored = new Document();
+        converter.write(room, stored);
+
+        @SuppressWarnings("unchecked")
+        List<Document> players = (List<Document>) stored.get("players");
+        Document storedHost = players.get(0);
+        assertEquals("host", storedHost.get("_id"));
+        assertEquals(10, storedHost.get("score"));
+        assertEquals(1, storedHost.get("answeredCount"));
+        assertEquals(1_200L, storedHost.get("totalResponseTime"));
+        assertFalse(storedHost.containsKey("botSkill"));
+        assertEquals("EXPERT", players.get(1).get("botSkill"));
+
+        MultiplayerRoom loaded = converter.read(MultiplayerRoom.class, stored);
+        // Same step as the registry's hydrate: seat the mapped roster in the table
+        loaded.setPlayers(loaded.getPlayers());
+        MultiplayerPlayer loadedHost = loaded.findPlayer("host");
+        assertEquals(10, loadedHost.getScore());
+        assertEquals(1, loadedHost.getAnsweredCount());
+        assertEquals(1_200L, loadedHost.getTotalResponseTime());
+        MultiplayerPlayer loadedBot = loaded.findPlayer("bot-ABC123");
+        assertTrue(loadedBot.isBot());
+        assertEquals(MultiplayerPlayer.BotSkill.EXPERT, loadedBot.getBotSkill());
+    }
+}
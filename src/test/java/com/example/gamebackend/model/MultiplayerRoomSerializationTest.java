@@ -0,0 +1,47 @@
+package com.example.gamebackend.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MultiplayerRoomSerializationTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void eventLogBookkeepingIsNotSerialized() {
+        MultiplayerRoom room = new MultiplayerRoom("ABC123", "host");
+        room.addPlayer(new MultiplayerPlayer("host", "Host"));
+        room.bumpVersion();
+        room.nextLogSequence();
+        room.nextLogSequence();
+
+        JsonNode json = objectMapper.valueToTree(room);
+
+        assertTrue(json.has("roomCode"));
+        assertFalse(json.has("entriesSinceSnapshot"));
+        assertFalse(json.has("logSequence"));
+        assertFalse(json.has("snapshotSequence"));
+        assertFalse(json.has("seed"));
+    }
+
+    @Test
+    void roomsSharingASeedDrawDifferentBotRandomness() {
+        MultiplayerRoom first = new MultiplayerRoom("ABC123", "host");
+        MultiplayerRoom replayed = new MultiplayerRoom("ABC123", "host");
+        MultiplayerRoom other = new MultiplayerRoom("XYZ789", "host");
+        first.setSeed(42L);
+        replayed.setSeed(42L);
+        other.setSeed(42L);
+
+        assertEquals(first.roundRandom().nextLong(), replayed.roundRandom().nextLong());
+        assertNotEquals(first.roundRandom().nextLong(), other.roundRandom().nextLong());
+    }
+}
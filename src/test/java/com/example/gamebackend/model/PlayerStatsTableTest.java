@@ -0,0 +1,33 @@
+package com.example.gamebackend.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PlayerStatsTableTest {
+
+    @Test
+    void largeRoomTableIsSizedFromItsCapacity() {
+        MultiplayerRoom room = new MultiplayerRoom("ABC123", "host");
+        room.setCapacity(300);
+
+        assertEquals(300, room.getStatsTable().seatCapacity());
+        for (int i = 0; i < 300; i++) {
+            room.addPlayer(new MultiplayerPlayer("p" + i, "Player " + i));
+        }
+        assertEquals(300, room.getStatsTable().seatCapacity());
+    }
+
+    @Test
+    void countersSurviveAResize() {
+        PlayerStatsTable table = new PlayerStatsTable(4);
+        int seat = table.allocate(30, 3, 4_500L, 7L);
+
+        table.ensureCapacity(64);
+
+        assertEquals(30, table.score(seat));
+        assertEquals(3, table.answeredCount(seat));
+        assertEquals(4_500L, table.totalResponseTime(seat));
+        assertEquals(7L, table.changedVersion(seat));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.gamebackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.gamebackend.config.AppProperties;
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerRoom;
+
+class MatchmakingServiceTest {
+
+    private MultiplayerRoomService roomService;
+    private MatchmakingService matchmaking;
+
+    @BeforeEach
+    void setUp() {
+        roomService = mock(MultiplayerRoomService.class);
+        when(roomService.getRoomCapacity()).thenReturn(2);
+        matchmaking = new MatchmakingService(roomService, new AppProperties());
+    }
+
+    @Test
+    void failedSetupClosesTheCreatedRoomAndRequeuesTheOthers() {
+        when(roomService.createRoom(anyString(), anyString(), any(), any(), anyInt(),
+                any(MultiplayerPlayer.BotSkill.class)))
+                .thenReturn(new MultiplayerRoom("ABC123", "host"));
+        when(roomService.joinRoom("ABC123", "guest", "Guest"))
+                .thenThrow(new IllegalStateException("The room is full"));
+
+        matchmaking.enqueue("host", "Host", MultiplayerRoom.Difficulty.EASY, "+-");
+        matchmaking.enqueue("guest", "Guest", MultiplayerRoom.Difficulty.EASY, "+-");
+        matchmaking.matchPlayers();
+
+        verify(roomService).abandonRoom("ABC123");
+        assertEquals(MatchmakingService.State.FAILED, matchmaking.getStatus("host").state());
+        assertEquals(MatchmakingService.State.WAITING, matchmaking.getStatus("guest").state());
+    }
+}
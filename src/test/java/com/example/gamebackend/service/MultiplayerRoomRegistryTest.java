@@ -0,0 +1,62 @@
+package com.example.gamebackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+import com.example.gamebackend.repository.RoomLogRepository;
+
+class MultiplayerRoomRegistryTest {
+
+    private MultiplayerRoomRepository roomRepository;
+    private MultiplayerRoomRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = mock(MultiplayerRoomRepository.class);
+        registry = new MultiplayerRoomRegistry(roomRepository,
+                mock(RoomLogRepository.class), mock(RoomOwnership.class), mock(RoomMailboxes.class),
+                mock(RoomCodeAllocator.class));
+    }
+
+    @Test
+    void activeRoomLimitIsHeldUntilTheSlotIsReleased() {
+        registry.reserveHostSlot("a", 1, 2);
+        registry.reserveHostSlot("b", 1, 2);
+
+        assertThrows(IllegalStateException.class, () -> registry.reserveHostSlot("c", 1, 2));
+
+        registry.releaseHostSlot("a");
+        assertDoesNotThrow(() -> registry.reserveHostSlot("c", 1, 2));
+    }
+
+    @Test
+    void hostLimitFailureDoesNotKeepANodeSlot() {
+        registry.reserveHostSlot("a", 1, 2);
+
+        assertThrows(IllegalStateException.class, () -> registry.reserveHostSlot("a", 1, 2));
+        assertDoesNotThrow(() -> registry.reserveHostSlot("b", 1, 2));
+    }
+
+    @Test
+    void closedRoomIsNotReloadedWhileItsDeleteIsQueued() {
+        registry.markDeleting("ABC123");
+
+        assertNull(registry.find("ABC123"));
+        verify(roomRepository, never()).findById(anyString());
+
+        MultiplayerRoom reissued = new MultiplayerRoom("ABC123", "host");
+        registry.register(reissued);
+        assertSame(reissued, registry.find("ABC123"));
+    }
+}
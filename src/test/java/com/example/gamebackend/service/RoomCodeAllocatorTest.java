@@ -0,0 +1,86 @@
+package com.example.gamebackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+
+class RoomCodeAllocatorTest {
+
+    private MultiplayerRoomRepository roomRepository;
+    private RoomOwnership roomOwnership;
+    private RoomCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = mock(MultiplayerRoomRepository.class);
+        roomOwnership = mock(RoomOwnership.class);
+        when(roomRepository.findAllRoomCodes()).thenReturn(List.of());
+        when(roomOwnership.isLocal(anyString())).thenReturn(true);
+        when(roomOwnership.generation()).thenReturn(1L);
+        allocator = new RoomCodeAllocator(roomRepository, roomOwnership);
+        allocator.loadCodesInUse();
+    }
+
+    @Test
+    void storedCodesAreReloadedAfterAMembershipChange() {
+        allocator.allocate();
+        verify(roomRepository, times(1)).findAllRoomCodes();
+
+        when(roomOwnership.generation()).thenReturn(2L);
+        allocator.allocate();
+        allocator.allocate();
+        verify(roomRepository, times(2)).findAllRoomCodes();
+    }
+
+    @Test
+    void largeAllocationRunsNeverRepeatACode() {
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            String code = allocator.allocate();
+            assertTrue(code.matches("[A-Z0-9]{6}"), code);
+            assertTrue(codes.add(code), "Duplicate code " + code);
+        }
+    }
+
+    @Test
+    void storedCodesAreSkippedUntilReleased() {
+        String first = new RoomCodeAllocator(roomRepository, roomOwnership, 0L, 17L).allocate();
+
+        when(roomRepository.findAllRoomCodes()).thenReturn(List.of(first));
+        RoomCodeAllocator held = new RoomCodeAllocator(roomRepository, roomOwnership, 0L, 17L);
+        held.loadCodesInUse();
+        assertNotEquals(first, held.allocate());
+
+        RoomCodeAllocator released = new RoomCodeAllocator(roomRepository, roomOwnership, 0L, 17L);
+        released.loadCodesInUse();
+        released.release(first);
+        assertEquals(first, released.allocate());
+    }
+
+    @Test
+    void allocatedCodesAreReissuedAfterRelease() {
+        RoomCodeAllocator probe = new RoomCodeAllocator(roomRepository, roomOwnership, 5L, 99L);
+        String code = probe.allocate();
+
+        // Same sequence: the code comes up first, but stays taken until released
+        RoomCodeAllocator sameSequence = new RoomCodeAllocator(roomRepository, roomOwnership, 5L, 99L);
+        sameSequence.loadCodesInUse();
+        sameSequence.markInUse(code);
+        sameSequence.release(code);
+        assertEquals(code, sameSequence.allocate());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.gamebackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.gamebackend.config.MongoConfig;
+import com.example.gamebackend.model.MultiplayerPlayer;
+import com.example.gamebackend.model.MultiplayerRoom;
+import com.example.gamebackend.model.RoomLogEntry;
+import com.example.gamebackend.repository.MultiplayerRoomRepository;
+import com.example.gamebackend.repository.RoomLogRepository;
+
+/**
+ * Projection round trip: the stored snapshot plus the log tail must rebuild the live room.
+ */
+class RoomLogReplayTest {
+
+    private MappingMongoConverter converter;
+    private MultiplayerRoomRepository roomRepository;
+    private RoomLogRepository roomLogRepository;
+    private MultiplayerRoomRegistry registry;
+    private final List<RoomLogEntry> log = new ArrayList<>();
+    private Document snapshot;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        roomRepository = mock(MultiplayerRoomRepository.class);
+        roomLogRepository = mock(RoomLogRepository.class);
+        RoomOwnership ownership = mock(RoomOwnership.class);
+        when(ownership.isLocal(anyString())).thenReturn(true);
+        registry = new MultiplayerRoomRegistry(roomRepository, roomLogRepository, ownership,
+                mock(RoomMailboxes.class), mock(RoomCodeAllocator.class));
+    }
+
+    @Test
+    void snapshotPlusLogRebuildsTheFinishedMatch() {
+        MultiplayerRoom live = playMatch();
+
+        MultiplayerRoom replayed = load(log);
+
+        assertSameState(live, replayed);
+        assertEquals(MultiplayerRoom.RoomStatus.FINISHED, replayed.getStatus());
+    }
+
+    @Test
+    void replayStopsAtTheFirstSequenceGap() {
+        playMatch();
+        List<RoomLogEntry> withGap = new ArrayList<>(log);
+        // Drop the ADVANCED entry: everything after it must be ignored
+        RoomLogEntry advanced = withGap.stream()
+                .filter(entry -> entry.getType() == RoomLogEntry.Type.ADVANCED)
+                .findFirst()
+                .orElseThrow();
+        withGap.remove(advanced);
+
+        MultiplayerRoom replayed = load(withGap);
+
+        assertEquals(advanced.getSequence() - 1, replayed.getLogSequence());
+        assertEquals(MultiplayerRoom.RoomStatus.PLAYING, replayed.getStatus());
+        assertEquals(0, replayed.getCurrentQuestionIndex());
+        assertEquals(10, replayed.findPlayer("host").getScore());
+        assertEquals(1, replayed.findPlayer("guest").getAnsweredCount());
+    }
+
+    /**
+     * Drives a room the way the service does, recording every entry after its change is applied.
+     * The snapshot is taken right after creation, so the whole match comes from the log.
+     */
+    private MultiplayerRoom playMatch() {
+        MultiplayerRoom room = new MultiplayerRoom("ABC123", "host");
+        // Stored dates keep millisecond precision only
+        room.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        room.addPlayer(new MultiplayerPlayer("host", "Host"));
+        room.bumpVersion();
+        append(room, RoomLogEntry.created(room));
+        room.markSnapshotted();
+        snapshot = new Document();
+        converter.write(room, snapshot);
+
+        MultiplayerPlayer guest = new MultiplayerPlayer("guest", "Guest");
+        room.addPlayer(guest);
+        room.bumpVersion();
+        append(room, RoomLogEntry.joined(guest));
+
+        QuestionBank.QuestionSet questionSet = QuestionBank.generate(QuestionBank.Key.of(room), 42L);
+        room.setSeed(questionSet.seed());
+        room.assignQuestionSet(questionSet.questions());
+        room.setStatus(MultiplayerRoom.RoomStatus.PLAYING);
+        room.setStartedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        room.setQuestionDeadline(1_000L);
+        room.bumpVersion();
+        append(room, RoomLogEntry.started(room));
+
+        answer(room, "host", 10, 1_200L);
+        answer(room, "guest", 0, 3_000L);
+
+        room.nextQuestion();
+        room.setQuestionDeadline(2_000L);
+        room.bumpVersion();
+        append(room, RoomLogEntry.advanced(room));
+
+        answer(room, "guest", 10, 800L);
+        answer(room, "host", 10, 2_500L);
+
+        room.setStatus(MultiplayerRoom.RoomStatus.FINISHED);
+        room.setFinishedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        room.setQuestionDeadline(0L);
+        room.bumpVersion();
+        append(room, RoomLogEntry.finished(room));
+        return room;
+    }
+
+    private void answer(MultiplayerRoom room, String playerId, int points, long responseTime) {
+        MultiplayerPlayer player = room.findPlayer(playerId);
+        int questionIndex = room.getCurrentQuestionIndex();
+        player.recordAnswer(points, responseTime);
+        room.bumpVersion();
+        append(room, RoomLogEntry.answered(player, questionIndex, points, responseTime));
+    }
+
+    private void append(MultiplayerRoom room, RoomLogEntry entry) {
+        log.add(entry.appendTo(room));
+    }
+
+    private MultiplayerRoom load(List<RoomLogEntry> entries) {
+        MultiplayerRoom stored = converter.read(MultiplayerRoom.class, snapshot);
+        when(roomRepository.findById("ABC123")).thenReturn(Optional.of(stored));
+        when(roomLogRepository.findByRoomIdAndSequenceGreaterThanOrderBySequenceAsc(anyString(), anyLong()))
+                .thenAnswer(invocation -> entries.stream()
+                        .filter(entry -> entry.getSequence() > invocation.getArgument(1, Long.class))
+                        .toList());
+        return registry.find("ABC123");
+    }
+
+    private static void assertSameState(MultiplayerRoom expected, MultiplayerRoom actual) {
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCurrentQuestionIndex(), actual.getCurrentQuestionIndex());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getLogSequence(), actual.getLogSequence());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getQuestions().size(), actual.getQuestions().size());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (MultiplayerPlayer player : expected.getPlayers()) {
+            MultiplayerPlayer restored = actual.findPlayer(player.getId());
+            assertEquals(player.getScore(), restored.getScore());
+            assertEquals(player.getAnsweredCount(), restored.getAnsweredCount());
+            assertEquals(player.getTotalResponseTime(), restored.getTotalResponseTime());
+        }
+        assertEquals(ids(expected.topPlayers(5)), ids(actual.topPlayers(5)));
+    }
+
+    private static List<String> ids(List<MultiplayerPlayer> players) {
+        return players.stream().map(MultiplayerPlayer::getId).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.gamebackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.gamebackend.config.AppProperties;
+
+class RoomOwnershipTest {
+
+    private static final ClusterMembership.Node A = new ClusterMembership.Node("a", "http://a");
+    private static final ClusterMembership.Node B = new ClusterMembership.Node("b", "http://b");
+
+    @Test
+    void singleNodeOwnsEveryRoom() {
+        RoomOwnership ownership = new RoomOwnership(new StaticClusterMembership("local", List.of()), new AppProperties());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ownership.isLocal("ROOM" + i));
+        }
+    }
+
+    @Test
+    void nodesAgreeOnTheOwnerAndRedirectTheRest() {
+        RoomOwnership onA = new RoomOwnership(new StaticClusterMembership("a", List.of(A, B)), new AppProperties());
+        RoomOwnership onB = new RoomOwnership(new StaticClusterMembership("b", List.of(A, B)), new AppProperties());
+
+        for (int i = 0; i < 200; i++) {
+            String code = "ROOM" + i;
+            assertEquals(onA.ownerOf(code), onB.ownerOf(code));
+            assertNotEquals(onA.isLocal(code), onB.isLocal(code));
+            RoomOwnership other = onA.isLocal(code) ? onB : onA;
+            RoomOwnedElsewhereException e = assertThrows(RoomOwnedElsewhereException.class,
+                    () -> other.requireLocal(code));
+            assertEquals(onA.ownerOf(code), e.getOwner());
+        }
+    }
+
+    @Test
+    void generationMovesOnlyWhenMembershipChanges() {
+        MutableMembership membership = new MutableMembership(List.of(A));
+        RoomOwnership ownership = new RoomOwnership(membership, new AppProperties());
+
+        long first = ownership.generation();
+        assertEquals(first, ownership.generation());
+        assertTrue(ownership.isLocal("ROOM1"));
+
+        membership.nodes = List.of(A, B);
+        long second = ownership.generation();
+        assertTrue(second > first);
+        assertEquals(second, ownership.generation());
+    }
+
+    private static final class MutableMembership implements ClusterMembership {
+
+        private volatile List<Node> nodes;
+
+        private MutableMembership(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public Node self() {
+            return A;
+        }
+
+        @Override
+        public List<Node> nodes() {
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.gamebackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.gamebackend.util.HierarchicalTimingWheel;
+
+class RoomTimersTest {
+
+    private long nowNanos;
+    private HierarchicalTimingWheel wheel;
+    private RoomTimers timers;
+
+    @BeforeEach
+    void setUp() {
+        nowNanos = 0L;
+        wheel = new HierarchicalTimingWheel(100, 64, 4, () -> nowNanos);
+        timers = new RoomTimers(wheel);
+    }
+
+    @Test
+    void rearmingARoomReplacesItsDeadline() {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        timers.armQuestionDeadline("ABC123", 1_000, first::incrementAndGet);
+        timers.armQuestionDeadline("ABC123", 2_000, second::incrementAndGet);
+        assertEquals(1, timers.pendingCount());
+
+        advanceTo(1_000);
+        assertEquals(0, first.get());
+        advanceTo(2_000);
+        assertEquals(1, second.get());
+        assertEquals(0, timers.pendingCount());
+    }
+
+    @Test
+    void cancellingARoomLeavesOtherRoomsArmed() {
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        timers.armQuestionDeadline("ABC123", 1_000, cancelled::incrementAndGet);
+        timers.armQuestionDeadline("XYZ789", 1_000, other::incrementAndGet);
+
+        timers.cancelQuestionDeadline("ABC123");
+        advanceTo(1_000);
+        assertEquals(0, cancelled.get());
+        assertEquals(1, other.get());
+    }
+
+    private void advanceTo(long millis) {
+        nowNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        wheel.runDueTicks();
+    }
+}
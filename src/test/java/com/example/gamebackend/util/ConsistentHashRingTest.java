@@ -0,0 +1,61 @@
+package com.example.gamebackend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void ownerOfAKeyIsStable() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("a", "b", "c"), Function.identity(), 160);
+        ConsistentHashRing<String> rebuilt = new ConsistentHashRing<>(List.of("c", "a", "b"), Function.identity(), 160);
+
+        for (int i = 0; i < 1_000; i++) {
+            String key = "ROOM" + i;
+            assertEquals(ring.nodeFor(key), ring.nodeFor(key));
+            assertEquals(ring.nodeFor(key), rebuilt.nodeFor(key));
+        }
+    }
+
+    @Test
+    void addingANodeMovesAboutItsShareOfKeys() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(List.of("a", "b", "c"), Function.identity(), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(List.of("a", "b", "c", "d"), Function.identity(), 160);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "ROOM" + i;
+            String owner = after.nodeFor(key);
+            if (!owner.equals(before.nodeFor(key))) {
+                // Keys only ever move to the new node
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        double share = moved / (double) KEYS;
+        assertTrue(share > 0.15 && share < 0.35, "moved share " + share);
+    }
+
+    @Test
+    void singleNodeOwnsEveryKey() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("solo"), Function.identity(), 160);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("solo", ring.nodeFor("ROOM" + i));
+        }
+    }
+
+    @Test
+    void rejectsAnEmptyRing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConsistentHashRing<String>(List.of(), Function.identity(), 160));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.gamebackend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HierarchicalTimingWheelTest {
+
+    // 1 ms ticks, 64 slots, 3 levels: level 1 starts at 64 ticks, level 2 at 4096
+    private long nowNanos;
+    private HierarchicalTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        nowNanos = 0L;
+        wheel = new HierarchicalTimingWheel(1, 64, 3, () -> nowNanos);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 63, 64, 65, 127, 128, 4095, 4096, 4097, 10_000})
+    void expiresOnTheExactTick(long delayMs) {
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(delayMs, TimeUnit.MILLISECONDS, fired::incrementAndGet);
+
+        advanceTo(delayMs - 1);
+        assertEquals(0, fired.get());
+        advanceTo(delayMs);
+        assertEquals(1, fired.get());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {63, 64, 4096})
+    void expiresOnTheExactTickWhenScheduledMidRotation(long delayMs) {
+        advanceTo(37);
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(delayMs, TimeUnit.MILLISECONDS, fired::incrementAndGet);
+
+        advanceTo(37 + delayMs - 1);
+        assertEquals(0, fired.get());
+        advanceTo(37 + delayMs);
+        assertEquals(1, fired.get());
+    }
+
+    @Test
+    void cancelledBeforeCascadeNeverRuns() {
+        AtomicInteger fired = new AtomicInteger();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(5_000, TimeUnit.MILLISECONDS, fired::incrementAndGet);
+        advanceTo(10);
+
+        assertTrue(timeout.cancel());
+        assertEquals(0, wheel.pendingCount());
+        advanceTo(6_000);
+        assertEquals(0, fired.get());
+    }
+
+    @Test
+    void cancelledAfterCascadeNeverRuns() {
+        AtomicInteger fired = new AtomicInteger();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(5_000, TimeUnit.MILLISECONDS, fired::incrementAndGet);
+        // Past the level-2 rotation at 4096: the timeout now sits in level 1
+        advanceTo(4_500);
+
+        assertTrue(timeout.cancel());
+        advanceTo(6_000);
+        assertEquals(0, fired.get());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void delaysBeyondTheTopLevelAreClampedAndStillExpireOnTime() {
+        // Three levels of 64 slots cover 262143 ticks
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(300_000, TimeUnit.MILLISECONDS, fired::incrementAndGet);
+
+        advanceTo(299_999);
+        assertEquals(0, fired.get());
+        assertEquals(1, wheel.pendingCount());
+        advanceTo(300_000);
+        assertEquals(1, fired.get());
+    }
+
+    private void advanceTo(long millis) {
+        nowNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        wheel.runDueTicks();
+    }
+}